@@ -0,0 +1,66 @@
+package org.genericsutils.benchmarks;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchies used by the benchmarks. The first group mirrors the fixture types of GenericsUtilsTest, the rest add deep
+ * chains, interface diamonds and nested parameterized type arguments.
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    public interface IClass1 {}
+    public interface IClass2<A> extends IClass1 {}
+    public abstract static class AbstractClass2<A> implements IClass2<A> {}
+    public static class Class2String extends AbstractClass2<String> {}
+    public interface IClass3<A, B> extends IClass2<A> {}
+    public abstract static class AbstractClass3<C, D> implements IClass3<C, D> {}
+    public static class Class3StringInteger extends AbstractClass3<String, Integer> {}
+    public static class Class2StringExtended<C> extends Class2String {}
+    public static class Class2StringExtendedAgainWithInteger extends Class2StringExtended<Integer> {}
+    public static class ExtenededClass2StringExtendedAgainWithInteger extends Class2StringExtendedAgainWithInteger {}
+
+    public interface IClassA<A> {}
+    public interface IClassB<B> {}
+    public interface IClassAB<D, C> extends IClassA<D>, IClassB<C> {}
+    public static class ClassABStringInteger implements IClassAB<String, Integer> {}
+
+    public interface IDeep0<T> {}
+    public interface IDeep1<T> extends IDeep0<T> {}
+    public interface IDeep2<T> extends IDeep1<T> {}
+    public interface IDeep3<T> extends IDeep2<T> {}
+    public interface IDeep4<T> extends IDeep3<T> {}
+    public interface IDeep5<T> extends IDeep4<T> {}
+    public interface IDeep6<T> extends IDeep5<T> {}
+    public interface IDeep7<T> extends IDeep6<T> {}
+    public abstract static class AbstractDeep8<T> implements IDeep7<T> {}
+    public abstract static class AbstractDeep9<T> extends AbstractDeep8<T> {}
+    public static class DeepString extends AbstractDeep9<String> {}
+
+    public interface IDiamond0<T> {}
+    public interface IDiamond1Left<T> extends IDiamond0<T> {}
+    public interface IDiamond1Right<T> extends IDiamond0<T> {}
+    public interface IDiamond2<T> extends IDiamond1Left<T>, IDiamond1Right<T> {}
+    public interface IDiamond3Left<T> extends IDiamond2<T> {}
+    public interface IDiamond3Right<T> extends IDiamond2<T> {}
+    public interface IDiamond4<T> extends IDiamond3Left<T>, IDiamond3Right<T> {}
+    public interface IDiamond5Left<T> extends IDiamond4<T> {}
+    public interface IDiamond5Right<T> extends IDiamond4<T> {}
+    public interface IDiamond6<T> extends IDiamond5Left<T>, IDiamond5Right<T> {}
+    public interface IDiamond7Left<T> extends IDiamond6<T> {}
+    public interface IDiamond7Right<T> extends IDiamond6<T> {}
+    public interface IDiamond8<T> extends IDiamond7Left<T>, IDiamond7Right<T> {}
+    public static class DiamondString implements IDiamond8<String> {}
+
+    public interface IContainer<C> {}
+    public interface INestedMap<K, V> extends IContainer<List<Map<K, V>>> {}
+    public static class NestedStringInteger implements INestedMap<String, Integer> {}
+
+    public interface IConcrete<T> extends IClassA<String>, IClassB<Long> {}
+
+    public interface IUnrelated<U> {}
+
+}
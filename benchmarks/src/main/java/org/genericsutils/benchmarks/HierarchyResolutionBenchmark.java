@@ -0,0 +1,164 @@
+package org.genericsutils.benchmarks;
+
+import org.genericsutils.GenericQuery;
+import org.genericsutils.GenericResolver;
+import org.genericsutils.GenericsCache;
+import org.genericsutils.GenericsUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Serializable;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.genericsutils.benchmarks.Fixtures.*;
+
+/**
+ * Throughput of resolving generic type arguments through hierarchies of different shapes, with the resolution cache
+ * switched on and off. Run with the GC profiler to see bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HierarchyResolutionBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private Type abstractClass3StringInteger;
+
+    private Type iClassABStringInteger;
+
+    private GenericResolver deepResolver;
+
+    private GenericQuery[] deepQueries;
+
+    private Type iClass2String;
+
+    private Supplier<?> stringFactory;
+
+    private Function<String, Integer> lengthLambda;
+
+    @Setup
+    public void setUp() {
+        GenericsCache.setEnabled(cacheEnabled);
+        abstractClass3StringInteger = Class3StringInteger.class.getGenericSuperclass();
+        iClassABStringInteger = ClassABStringInteger.class.getGenericInterfaces()[0];
+        deepResolver = GenericResolver.of(IDeep0.class, 0);
+        stringFactory = GenericsUtils.getGenericInstanceFactory(Class2String.class, IClass2.class, 0);
+        lengthLambda = (Function<String, Integer> & Serializable) String::length;
+        iClass2String = GenericsUtils.resolveSuperTypes(Class2String.class).getSuperType(IClass2.class);
+        deepQueries = new GenericQuery[]{
+                GenericQuery.of(IDeep0.class, 0),
+                GenericQuery.of(IDeep1.class, 0),
+                GenericQuery.of(IDeep2.class, 0),
+                GenericQuery.of(IDeep3.class, 0),
+                GenericQuery.of(IDeep4.class, 0),
+                GenericQuery.of(IDeep5.class, 0),
+                GenericQuery.of(IDeep6.class, 0),
+                GenericQuery.of(IDeep7.class, 0),
+                GenericQuery.of(IClass2.class, 0),
+                GenericQuery.of(IUnrelated.class, 0)
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        GenericsCache.setEnabled(true);
+    }
+
+    @Benchmark
+    public Class<?> shallowHit() {
+        return GenericsUtils.getGenericClassFromClass(Class2String.class, IClass2.class, 0);
+    }
+
+    @Benchmark
+    public Class<?> mediumHit() {
+        return GenericsUtils.getGenericClassFromClass(ExtenededClass2StringExtendedAgainWithInteger.class, IClass2.class, 0);
+    }
+
+    @Benchmark
+    public Class<?> deepHit() {
+        return GenericsUtils.getGenericClassFromClass(DeepString.class, IDeep0.class, 0);
+    }
+
+    @Benchmark
+    public Class<?> deepHitResolver() {
+        return deepResolver.resolveClass(DeepString.class);
+    }
+
+    @Benchmark
+    public Class<?>[] batchHits() {
+        return GenericsUtils.getGenericClassesFromClass(DeepString.class, deepQueries);
+    }
+
+    @Benchmark
+    public Class<?>[] separateHits() {
+        Class<?>[] genericClasses = new Class<?>[deepQueries.length];
+        for (int q = 0; q <= deepQueries.length - 1; q++) {
+            genericClasses[q] = GenericsUtils.getGenericClassFromClass(DeepString.class, deepQueries[q].getBaseClassWithGeneric(), deepQueries[q].getGenericPosition());
+        }
+        return genericClasses;
+    }
+
+    @Benchmark
+    public boolean assignable() {
+        return GenericsUtils.isAssignable(ExtenededClass2StringExtendedAgainWithInteger.class, iClass2String);
+    }
+
+    @Benchmark
+    public Object instanceFactory() {
+        return stringFactory.get();
+    }
+
+    @Benchmark
+    public Object reflectiveInstance() throws ReflectiveOperationException {
+        return GenericsUtils.getGenericClassFromClass(Class2String.class, IClass2.class, 0).getDeclaredConstructor().newInstance();
+    }
+
+    @Benchmark
+    public Class<?> lambdaHit() {
+        return GenericsUtils.getGenericClassFromLambda(lengthLambda, Function.class, 1);
+    }
+
+    @Benchmark
+    public Class<?> diamondHit() {
+        return GenericsUtils.getGenericClassFromClass(DiamondString.class, IDiamond0.class, 0);
+    }
+
+    @Benchmark
+    public Type nestedArgumentHit() {
+        return GenericsUtils.getGenericTypeFromClass(NestedStringInteger.class, IContainer.class, 0);
+    }
+
+    @Benchmark
+    public Type multipleArgumentsHit() {
+        return GenericsUtils.getGenericTypeFromClass(ClassABStringInteger.class, IClassB.class, 0);
+    }
+
+    @Benchmark
+    public Type deepMiss() {
+        return GenericsUtils.getGenericTypeFromClass(DeepString.class, IUnrelated.class, 0);
+    }
+
+    @Benchmark
+    public Type diamondMiss() {
+        return GenericsUtils.getGenericTypeFromClass(DiamondString.class, IUnrelated.class, 0);
+    }
+
+    @Benchmark
+    public Collection<Type> implementsInterfaces() {
+        return GenericsUtils.implementsInterfaces(iClassABStringInteger);
+    }
+
+    @Benchmark
+    public Collection<Type> constructGenericInterface() {
+        return GenericsUtils.extendsClassesAndInterfaces(abstractClass3StringInteger);
+    }
+
+}
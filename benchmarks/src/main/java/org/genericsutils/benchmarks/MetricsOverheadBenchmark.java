@@ -0,0 +1,56 @@
+package org.genericsutils.benchmarks;
+
+import org.genericsutils.GenericsMetrics;
+import org.genericsutils.GenericsMetricsListener;
+import org.genericsutils.GenericsUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.genericsutils.benchmarks.Fixtures.*;
+
+/**
+ * Cost of {@link GenericsMetrics} on cached lookups: switched off, switched on with only the counters, and switched on
+ * with a listener that ignores every event. Switched off should measure the same as HierarchyResolutionBenchmark.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    @Param({"off", "counters", "listener"})
+    public String metrics;
+
+    @Setup
+    public void setUp() {
+        GenericsMetrics.reset();
+        GenericsMetrics.setEnabled(!metrics.equals("off"));
+        GenericsMetrics.setListener(metrics.equals("listener") ? new GenericsMetricsListener() {
+        } : null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        GenericsMetrics.setEnabled(false);
+        GenericsMetrics.setListener(null);
+    }
+
+    @Benchmark
+    public Class<?> shallowHit() {
+        return GenericsUtils.getGenericClassFromClass(Class2String.class, IClass2.class, 0);
+    }
+
+    @Benchmark
+    public Class<?> deepHit() {
+        return GenericsUtils.getGenericClassFromClass(DeepString.class, IDeep0.class, 0);
+    }
+
+    @Benchmark
+    public Class<?> miss() {
+        return GenericsUtils.getGenericClassFromClass(IConcrete.class, IUnrelated.class, 0);
+    }
+
+}
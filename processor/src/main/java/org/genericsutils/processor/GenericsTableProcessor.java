@@ -0,0 +1,214 @@
+package org.genericsutils.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * GenericsTableProcessor generates a GeneratedGenericsTable for every class and package marked with
+ * GenerateGenericsTable. Each table holds, for every super type of each covered class, the classes that
+ * GenericsUtils.getGenericClassFromClass would return, so those lookups need no reflection at run time.
+ * Positions that cannot be written as a class literal, such as type variables and wildcards, are left null and
+ * GenericsUtils falls back to reflection for them.
+ */
+@SupportedAnnotationTypes(GenericsTableProcessor.GENERATE_GENERICS_TABLE)
+public class GenericsTableProcessor extends AbstractProcessor {
+
+    static final String GENERATE_GENERICS_TABLE = "org.genericsutils.GenerateGenericsTable";
+
+    static final String GENERATED_GENERICS_TABLE = "org.genericsutils.GeneratedGenericsTable";
+
+    static final String TABLE_SUFFIX = "_GenericsTable";
+
+    private final Set<String> generatedTables = new LinkedHashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element annotatedElement : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (annotatedElement instanceof PackageElement) {
+                    PackageElement packageElement = (PackageElement) annotatedElement;
+                    List<TypeElement> typeElements = new ArrayList<>();
+                    collectTypeElements(packageElement.getEnclosedElements(), typeElements);
+                    writeTable(packageElement, "package" + TABLE_SUFFIX, typeElements);
+                } else if (annotatedElement instanceof TypeElement) {
+                    TypeElement typeElement = (TypeElement) annotatedElement;
+                    PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(typeElement);
+                    String binaryName = processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+                    String simpleBinaryName = binaryName.substring(binaryName.lastIndexOf('.') + 1).replace('$', '_');
+                    writeTable(packageElement, simpleBinaryName + TABLE_SUFFIX, Collections.singletonList(typeElement));
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !generatedTables.isEmpty()) {
+            writeServiceFile();
+        }
+        return false;
+    }
+
+    private void collectTypeElements(List<? extends Element> elements, List<TypeElement> typeElements) {
+        for (Element element : elements) {
+            if (element instanceof TypeElement) {
+                typeElements.add((TypeElement) element);
+                collectTypeElements(element.getEnclosedElements(), typeElements);
+            }
+        }
+    }
+
+    private void writeTable(PackageElement packageElement, String simpleName, List<TypeElement> typeElements) {
+        String packageName = packageElement.getQualifiedName().toString();
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        if (!generatedTables.add(qualifiedName)) {
+            return;
+        }
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n * Generated by ").append(GenericsTableProcessor.class.getName()).append(", do not edit.\n */\n");
+        source.append("public final class ").append(simpleName).append(" implements ").append(GENERATED_GENERICS_TABLE).append(" {\n\n");
+        source.append("    @Override\n");
+        source.append("    public void registerGenericClasses(Registrar registrar) {\n");
+        for (TypeElement typeElement : typeElements) {
+            if (isAccessible(typeElement, packageName)) {
+                appendRegistrations(source, typeElement, packageName);
+            }
+        }
+        source.append("    }\n\n}\n");
+        try {
+            JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(qualifiedName, typeElements.toArray(new Element[0]));
+            try (Writer writer = sourceFile.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Walk the super types of typeElement breadth first, the same order GenericsUtils uses, and register the first
+     * substituted super type found for each raw class.
+     */
+    private void appendRegistrations(StringBuilder source, TypeElement typeElement, String packageName) {
+        Types types = processingEnv.getTypeUtils();
+        Set<String> registeredRawTypes = new HashSet<>();
+        Set<String> visitedTypes = new HashSet<>();
+        Deque<TypeMirror> typesToVisit = new ArrayDeque<>();
+        typesToVisit.add(typeElement.asType());
+        while (!typesToVisit.isEmpty()) {
+            TypeMirror type = typesToVisit.poll();
+            for (TypeMirror superType : types.directSupertypes(type)) {
+                if (superType.getKind() != TypeKind.DECLARED) {
+                    continue;
+                }
+                DeclaredType declaredSuperType = (DeclaredType) superType;
+                TypeElement rawSuperType = (TypeElement) declaredSuperType.asElement();
+                String rawSuperTypeName = rawSuperType.getQualifiedName().toString();
+                if (rawSuperTypeName.equals(Object.class.getName())) {
+                    continue;
+                }
+                if (registeredRawTypes.add(rawSuperTypeName) && !declaredSuperType.getTypeArguments().isEmpty() && isAccessible(rawSuperType, packageName)) {
+                    source.append("        registrar.register(")
+                            .append(typeElement.getQualifiedName()).append(".class, ")
+                            .append(rawSuperTypeName).append(".class, new Class<?>[]{");
+                    List<? extends TypeMirror> typeArguments = declaredSuperType.getTypeArguments();
+                    for (int i = 0; i <= typeArguments.size() - 1; i++) {
+                        if (i > 0) {
+                            source.append(", ");
+                        }
+                        source.append(toClassLiteral(typeArguments.get(i), packageName));
+                    }
+                    source.append("});\n");
+                }
+                if (visitedTypes.add(declaredSuperType.toString())) {
+                    typesToVisit.add(declaredSuperType);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the class literal of the class getGenericClassFromClass returns for typeArgument, or null when it can
+     * not be written in the generated source
+     */
+    private String toClassLiteral(TypeMirror typeArgument, String packageName) {
+        if (typeArgument.getKind() == TypeKind.DECLARED) {
+            TypeElement typeArgumentElement = (TypeElement) ((DeclaredType) typeArgument).asElement();
+            if (isAccessible(typeArgumentElement, packageName)) {
+                return typeArgumentElement.getQualifiedName() + ".class";
+            }
+        } else if (typeArgument.getKind() == TypeKind.ARRAY) {
+            TypeMirror componentType = ((ArrayType) typeArgument).getComponentType();
+            if (componentType.getKind().isPrimitive()) {
+                return componentType + "[].class";
+            }
+            if (componentType.getKind() == TypeKind.DECLARED && ((DeclaredType) componentType).getTypeArguments().isEmpty()) {
+                String componentLiteral = toClassLiteral(componentType, packageName);
+                if (!componentLiteral.equals("null")) {
+                    return componentLiteral.substring(0, componentLiteral.length() - ".class".length()) + "[].class";
+                }
+            }
+        }
+        return "null";
+    }
+
+    /**
+     * A class literal of typeElement compiles in packageName if neither it nor any class enclosing it is private,
+     * local or anonymous, and every one of them is public or in packageName.
+     */
+    private boolean isAccessible(TypeElement typeElement, String packageName) {
+        String typePackageName = processingEnv.getElementUtils().getPackageOf(typeElement).getQualifiedName().toString();
+        Element element = typeElement;
+        while (element instanceof TypeElement) {
+            TypeElement enclosingTypeElement = (TypeElement) element;
+            NestingKind nestingKind = enclosingTypeElement.getNestingKind();
+            if (nestingKind == NestingKind.LOCAL || nestingKind == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            Set<Modifier> modifiers = enclosingTypeElement.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC) && !typePackageName.equals(packageName)) {
+                return false;
+            }
+            element = enclosingTypeElement.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private void writeServiceFile() {
+        String serviceFileName = "META-INF/services/" + GENERATED_GENERICS_TABLE;
+        try {
+            FileObject serviceFile = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", serviceFileName);
+            try (Writer writer = serviceFile.openWriter()) {
+                for (String generatedTable : generatedTables) {
+                    writer.write(generatedTable);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write " + serviceFileName + ": " + e.getMessage());
+        }
+    }
+
+}
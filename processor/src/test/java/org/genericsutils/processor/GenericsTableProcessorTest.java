@@ -0,0 +1,90 @@
+package org.genericsutils.processor;
+
+import org.genericsutils.GeneratedGenericsTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.*;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenericsTableProcessorTest {
+
+    @TempDir
+    Path outputDirectory;
+
+    @Test
+    void generatesTableForAnnotatedClass() throws Exception {
+        ClassLoader classLoader = compile(
+                source("sample.IClass2", "package sample; public interface IClass2<A> {}"),
+                source("sample.IClass3", "package sample; public interface IClass3<A, B> extends IClass2<A> {}"),
+                source("sample.AbstractClass3", "package sample; public abstract class AbstractClass3<C, D> implements IClass3<C, D> {}"),
+                source("sample.Class3StringInteger", "package sample; @org.genericsutils.GenerateGenericsTable public class Class3StringInteger extends AbstractClass3<String, java.util.List<Integer>> {}"),
+                source("sample.Unannotated", "package sample; public class Unannotated extends AbstractClass3<String, Long> {}"));
+
+        Map<String, Class<?>[]> registrations = loadRegistrations(classLoader);
+        assertArrayEquals(new Class<?>[]{String.class, List.class}, registrations.get("sample.Class3StringInteger -> sample.AbstractClass3"));
+        assertArrayEquals(new Class<?>[]{String.class, List.class}, registrations.get("sample.Class3StringInteger -> sample.IClass3"));
+        assertArrayEquals(new Class<?>[]{String.class}, registrations.get("sample.Class3StringInteger -> sample.IClass2"));
+        assertEquals(3, registrations.size());
+    }
+
+    @Test
+    void generatesTableForAnnotatedPackage() throws Exception {
+        ClassLoader classLoader = compile(
+                source("sample.package-info", "@org.genericsutils.GenerateGenericsTable package sample;"),
+                source("sample.IHandler", "package sample; public interface IHandler<E> {}"),
+                source("sample.Handlers", "package sample; public class Handlers {"
+                        + " public static class StringHandler implements IHandler<String[]> {}"
+                        + " static class PackageHandler implements IHandler<Handlers> {}"
+                        + " private static class PrivateHandler implements IHandler<Integer> {}"
+                        + " public static class GenericHandler<T> implements IHandler<T> {}"
+                        + " }"));
+
+        Map<String, Class<?>[]> registrations = loadRegistrations(classLoader);
+        assertArrayEquals(new Class<?>[]{String[].class}, registrations.get("sample.Handlers$StringHandler -> sample.IHandler"));
+        assertArrayEquals(new Class<?>[]{classLoader.loadClass("sample.Handlers")}, registrations.get("sample.Handlers$PackageHandler -> sample.IHandler"));
+        assertArrayEquals(new Class<?>[]{null}, registrations.get("sample.Handlers$GenericHandler -> sample.IHandler"));
+        assertFalse(registrations.containsKey("sample.Handlers$PrivateHandler -> sample.IHandler"));
+        assertEquals(3, registrations.size());
+    }
+
+    private ClassLoader compile(JavaFileObject... sources) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<String> options = Arrays.asList(
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", outputDirectory.toString(),
+                "-s", Files.createDirectories(outputDirectory.resolve("generated")).toString());
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, Arrays.asList(sources));
+        task.setProcessors(Collections.singletonList(new GenericsTableProcessor()));
+        assertTrue(task.call(), diagnostics.getDiagnostics().toString());
+        return new URLClassLoader(new URL[]{outputDirectory.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    private static Map<String, Class<?>[]> loadRegistrations(ClassLoader classLoader) {
+        Map<String, Class<?>[]> registrations = new HashMap<>();
+        for (GeneratedGenericsTable generatedGenericsTable : ServiceLoader.load(GeneratedGenericsTable.class, classLoader)) {
+            generatedGenericsTable.registerGenericClasses((fromClass, baseClassWithGeneric, genericClasses) ->
+                    registrations.put(fromClass.getName() + " -> " + baseClassWithGeneric.getName(), genericClasses));
+        }
+        return registrations;
+    }
+
+    private static JavaFileObject source(String qualifiedName, String content) {
+        URI uri = URI.create("string:///" + qualifiedName.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return content;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,239 @@
+package org.genericsutils;
+
+import lombok.SneakyThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * BulkGenericsResolver finds, among many classes at once, the ones that extend or implement some base classes with
+ * generics, together with the generics they resolve to. Classes are resolved in parallel on a fork-join pool and each
+ * result is handed on as soon as it is ready. Resolution goes through {@link GenericsUtils#resolveSuperTypes(Class)},
+ * so the part of the hierarchy shared between classes is only resolved once.
+ * Example: a call to resolveJar(pluginJar, pluginClassLoader, IHandler.class) streams one Resolution for every class
+ * in the jar that implements IHandler, each holding its actual type argument for E in IHandler<E>.
+ */
+public final class BulkGenericsResolver {
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    private BulkGenericsResolver() {
+    }
+
+    /**
+     * @param classes
+     * @param baseClassesWithGeneric
+     * @return a parallel, unordered stream with one Resolution for each class and each base class in its hierarchy
+     */
+    public static Stream<Resolution> resolve(Collection<Class<?>> classes, Class<?>... baseClassesWithGeneric) {
+        Class<?>[] baseClasses = baseClassesWithGeneric.clone();
+        return classes.parallelStream()
+                .unordered()
+                .flatMap(fromClass -> resolve(fromClass, baseClasses));
+    }
+
+    /**
+     * Resolve classes on the given pool and hand each Resolution to consumer from the thread that produced it.
+     *
+     * @param classes
+     * @param pool
+     * @param consumer
+     * @param baseClassesWithGeneric
+     */
+    public static void resolve(Collection<Class<?>> classes, ForkJoinPool pool, Consumer<Resolution> consumer, Class<?>... baseClassesWithGeneric) {
+        pool.submit(() -> resolve(classes, baseClassesWithGeneric).forEach(consumer)).join();
+    }
+
+    /**
+     * Resolve every class of a package, including its sub packages, as found by classLoader in directories and jars.
+     * Classes are loaded without being initialized, and classes that cannot be loaded are skipped.
+     *
+     * @param packageName
+     * @param classLoader
+     * @param baseClassesWithGeneric
+     * @return
+     */
+    public static Stream<Resolution> resolvePackage(String packageName, ClassLoader classLoader, Class<?>... baseClassesWithGeneric) {
+        return resolve(loadPackageClasses(packageName, classLoader), baseClassesWithGeneric);
+    }
+
+    /**
+     * Load every class of a package and its sub packages, as found by classLoader in directories and jars, without
+     * initializing them. Classes that cannot be loaded are left out.
+     */
+    static List<Class<?>> loadPackageClasses(String packageName, ClassLoader classLoader) {
+        return loadClasses(findPackageClassNames(packageName, classLoader), classLoader);
+    }
+
+    /**
+     * Resolve every class in a jar. classLoader must be able to load the jar's classes, for example a URLClassLoader
+     * over the jar. Classes are loaded without being initialized, and classes that cannot be loaded are skipped.
+     *
+     * @param jarPath
+     * @param classLoader
+     * @param baseClassesWithGeneric
+     * @return
+     */
+    @SneakyThrows
+    public static Stream<Resolution> resolveJar(Path jarPath, ClassLoader classLoader, Class<?>... baseClassesWithGeneric) {
+        List<String> classNames;
+        try (JarFile jarFile = new JarFile(jarPath.toFile())) {
+            classNames = findJarClassNames(jarFile, "");
+        }
+        return resolve(loadClasses(classNames, classLoader), baseClassesWithGeneric);
+    }
+
+    private static Stream<Resolution> resolve(Class<?> fromClass, Class<?>[] baseClassesWithGeneric) {
+        ResolvedSuperTypes resolvedSuperTypes = null;
+        List<Resolution> resolutions = new ArrayList<>(1);
+        for (Class<?> baseClassWithGeneric : baseClassesWithGeneric) {
+            if (fromClass == baseClassWithGeneric || !baseClassWithGeneric.isAssignableFrom(fromClass)) {
+                continue;
+            }
+            if (resolvedSuperTypes == null) {
+                resolvedSuperTypes = GenericsUtils.resolveSuperTypes(fromClass);
+            }
+            Type superType = resolvedSuperTypes.getSuperType(baseClassWithGeneric);
+            if (superType != null) {
+                resolutions.add(new Resolution(fromClass, baseClassWithGeneric, superType));
+            }
+        }
+        return resolutions.stream();
+    }
+
+    private static List<Class<?>> loadClasses(Collection<String> classNames, ClassLoader classLoader) {
+        return classNames.parallelStream()
+                .map(className -> loadClass(className, classLoader))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static Class<?> loadClass(String className, ClassLoader classLoader) {
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    @SneakyThrows
+    private static List<String> findPackageClassNames(String packageName, ClassLoader classLoader) {
+        String packagePath = packageName.replace('.', '/');
+        List<String> classNames = new ArrayList<>();
+        Enumeration<URL> packageUrls = classLoader.getResources(packagePath);
+        while (packageUrls.hasMoreElements()) {
+            URL packageUrl = packageUrls.nextElement();
+            if ("file".equals(packageUrl.getProtocol())) {
+                classNames.addAll(findDirectoryClassNames(Paths.get(packageUrl.toURI()), packageName));
+            } else if ("jar".equals(packageUrl.getProtocol())) {
+                URLConnection connection = packageUrl.openConnection();
+                connection.setUseCaches(false);
+                try (JarFile jarFile = ((JarURLConnection) connection).getJarFile()) {
+                    classNames.addAll(findJarClassNames(jarFile, packagePath + "/"));
+                }
+            }
+        }
+        return classNames;
+    }
+
+    static List<String> findDirectoryClassNames(Path packageDirectory, String packageName) throws IOException {
+        try (Stream<Path> paths = Files.walk(packageDirectory)) {
+            return paths
+                    .filter(path -> isClassFile(path.toString()))
+                    .map(path -> {
+                        String relativePath = packageDirectory.relativize(path).toString().replace(File.separatorChar, '.');
+                        String className = relativePath.substring(0, relativePath.length() - CLASS_FILE_EXTENSION.length());
+                        return packageName.isEmpty() ? className : packageName + "." + className;
+                    })
+                    .collect(Collectors.toList());
+        }
+    }
+
+    static List<String> findJarClassNames(JarFile jarFile, String pathPrefix) {
+        List<String> classNames = new ArrayList<>();
+        Enumeration<JarEntry> entries = jarFile.entries();
+        while (entries.hasMoreElements()) {
+            String entryName = entries.nextElement().getName();
+            if (entryName.startsWith(pathPrefix) && !entryName.startsWith("META-INF/") && isClassFile(entryName)) {
+                classNames.add(entryName.substring(0, entryName.length() - CLASS_FILE_EXTENSION.length()).replace('/', '.'));
+            }
+        }
+        return classNames;
+    }
+
+    private static boolean isClassFile(String path) {
+        return path.endsWith(CLASS_FILE_EXTENSION)
+                && !path.endsWith("module-info" + CLASS_FILE_EXTENSION)
+                && !path.endsWith("package-info" + CLASS_FILE_EXTENSION);
+    }
+
+    /**
+     * One class found to extend or implement a base class, with the super type it resolves to.
+     */
+    public static final class Resolution {
+
+        private final Class<?> fromClass;
+
+        private final Class<?> baseClassWithGeneric;
+
+        private final Type superType;
+
+        Resolution(Class<?> fromClass, Class<?> baseClassWithGeneric, Type superType) {
+            this.fromClass = fromClass;
+            this.baseClassWithGeneric = baseClassWithGeneric;
+            this.superType = superType;
+        }
+
+        public Class<?> getFromClass() {
+            return fromClass;
+        }
+
+        public Class<?> getBaseClassWithGeneric() {
+            return baseClassWithGeneric;
+        }
+
+        /**
+         * @return the base class with its generics as resolved from fromClass, a Class when it is used as a raw type
+         */
+        public Type getSuperType() {
+            return superType;
+        }
+
+        /**
+         * @param genericPosition
+         * @return the actual type argument at genericPosition, or null when the base class is used as a raw type
+         */
+        public Type getGenericType(int genericPosition) {
+            if (!(superType instanceof ParameterizedType)) {
+                return null;
+            }
+            Type[] actualTypeArguments = ((ParameterizedType) superType).getActualTypeArguments();
+            if (genericPosition > actualTypeArguments.length - 1) {
+                throw new RuntimeException("Generic Position " + genericPosition + " exceeds the number of generics in " + superType.getTypeName());
+            }
+            return actualTypeArguments[genericPosition];
+        }
+
+        @Override
+        public String toString() {
+            return fromClass.getTypeName() + " -> " + superType.getTypeName();
+        }
+
+    }
+
+}
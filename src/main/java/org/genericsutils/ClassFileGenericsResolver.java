@@ -0,0 +1,764 @@
+package org.genericsutils;
+
+import lombok.SneakyThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * ClassFileGenericsResolver resolves generics from the Signature attributes of class files, without loading any class.
+ * Type arguments are substituted through the hierarchy by class name only, so a large directory or jar of plugins can be
+ * indexed without filling metaspace or running static initializers, and only the classes that are used loaded later.
+ * Classes are named by their binary names, as returned by Class.getName(). Resolved types are returned as the names
+ * Type.getTypeName() gives for them, and erased classes as the names Class.getName() gives for them.
+ * Class files are read from the directories and jars of the class path, then from resourceLoader, for example for the
+ * classes of the JDK. A class whose class file cannot be found is treated as having no super types.
+ * Example: Handler implements IHandler<String>, a call to getGenericClassFromClass("com.example.Handler",
+ * "com.example.IHandler", 0) will return "java.lang.String"
+ */
+public final class ClassFileGenericsResolver implements Closeable {
+
+    private static final String OBJECT = "java/lang/Object";
+
+    private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+
+    private static final SignatureType[] NO_TYPE_ARGUMENTS = new SignatureType[0];
+
+    private static final ClassSignature MISSING = new ClassSignature(Collections.emptyList(), Collections.emptyList());
+
+    private final List<Path> directories = new ArrayList<>();
+
+    private final List<JarFile> jarFiles = new ArrayList<>();
+
+    private final ClassLoader resourceLoader;
+
+    private final Map<String, ClassSignature> classSignatures = new ConcurrentHashMap<>();
+
+    private final Map<String, Map<String, ClassType>> resolvedSuperTypes = new ConcurrentHashMap<>();
+
+    /**
+     * Read class files from classPath and then from the system class loader.
+     *
+     * @param classPath directories and jars
+     */
+    public ClassFileGenericsResolver(Collection<Path> classPath) {
+        this(classPath, ClassLoader.getSystemClassLoader());
+    }
+
+    /**
+     * @param classPath      directories and jars
+     * @param resourceLoader the loader whose resources are read for classes not in classPath, or null for none
+     */
+    @SneakyThrows
+    public ClassFileGenericsResolver(Collection<Path> classPath, ClassLoader resourceLoader) {
+        for (Path classPathEntry : classPath) {
+            if (Files.isDirectory(classPathEntry)) {
+                directories.add(classPathEntry);
+            } else {
+                jarFiles.add(new JarFile(classPathEntry.toFile()));
+            }
+        }
+        this.resourceLoader = resourceLoader;
+    }
+
+    /**
+     * @return the binary name of every class in the directories and jars of the class path
+     */
+    @SneakyThrows
+    public List<String> getClassNames() {
+        List<String> classNames = new ArrayList<>();
+        for (Path directory : directories) {
+            classNames.addAll(BulkGenericsResolver.findDirectoryClassNames(directory, ""));
+        }
+        for (JarFile jarFile : jarFiles) {
+            classNames.addAll(BulkGenericsResolver.findJarClassNames(jarFile, ""));
+        }
+        return classNames;
+    }
+
+    /**
+     * Same as {@link GenericsUtils#getGenericClassFromClass(Class, Class, int)}, by class name.
+     *
+     * @param fromClassName
+     * @param baseClassNameWithGeneric
+     * @param genericPosition
+     * @return the binary name of the generic class, or null if baseClassNameWithGeneric is not in the hierarchy of
+     * fromClassName
+     */
+    public String getGenericClassFromClass(String fromClassName, String baseClassNameWithGeneric, int genericPosition) {
+        SignatureType typeArgument = findTypeArgument(fromClassName, baseClassNameWithGeneric, genericPosition);
+        if (typeArgument == null) {
+            return null;
+        }
+        return typeArgument.erase(getClassSignature(toInternalName(fromClassName))).name.replace('/', '.');
+    }
+
+    /**
+     * Same as {@link GenericsUtils#getGenericTypeFromClass(Class, Class, int)}, by class name.
+     *
+     * @param fromClassName
+     * @param baseClassNameWithGeneric
+     * @param genericPosition
+     * @return the type name of the generic type, or null if baseClassNameWithGeneric is not in the hierarchy of
+     * fromClassName
+     */
+    public String getGenericTypeFromClass(String fromClassName, String baseClassNameWithGeneric, int genericPosition) {
+        SignatureType typeArgument = findTypeArgument(fromClassName, baseClassNameWithGeneric, genericPosition);
+        return typeArgument == null ? null : typeArgument.getTypeName();
+    }
+
+    /**
+     * Same as {@link GenericsUtils#resolveSuperTypes(Class)}, by class name.
+     *
+     * @param fromClassName
+     * @return the type name of every super class and interface, excluding Object, by binary name of its class
+     */
+    public Map<String, String> resolveSuperTypes(String fromClassName) {
+        Map<String, ClassType> superTypes = lookupSuperTypes(toInternalName(fromClassName));
+        Map<String, String> superTypeNames = new LinkedHashMap<>(superTypes.size() * 2);
+        for (Map.Entry<String, ClassType> superType : superTypes.entrySet()) {
+            superTypeNames.put(superType.getKey().replace('/', '.'), superType.getValue().getTypeName());
+        }
+        return superTypeNames;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (JarFile jarFile : jarFiles) {
+            jarFile.close();
+        }
+    }
+
+    private SignatureType findTypeArgument(String fromClassName, String baseClassNameWithGeneric, int genericPosition) {
+        ClassType superType = lookupSuperTypes(toInternalName(fromClassName)).get(toInternalName(baseClassNameWithGeneric));
+        if (superType == null) {
+            return null;
+        }
+        if (genericPosition < 0 || genericPosition > superType.typeArguments.length - 1) {
+            throw new RuntimeException("Generic Position " + genericPosition + " exceeds the number of generics in " + baseClassNameWithGeneric);
+        }
+        return superType.typeArguments[genericPosition];
+    }
+
+    private static String toInternalName(String className) {
+        return className.replace('.', '/');
+    }
+
+    /**
+     * The super types of a class are composed from its direct super types and the tables of those, each computed once,
+     * the same as {@link GenericsUtils#composeAllSuperTypes(Class)} does for loaded classes.
+     */
+    private Map<String, ClassType> lookupSuperTypes(String className) {
+        Map<String, ClassType> superTypes = resolvedSuperTypes.get(className);
+        if (superTypes == null) {
+            superTypes = composeSuperTypes(className);
+            Map<String, ClassType> previousSuperTypes = resolvedSuperTypes.putIfAbsent(className, superTypes);
+            if (previousSuperTypes != null) {
+                superTypes = previousSuperTypes;
+            }
+        }
+        return superTypes;
+    }
+
+    private Map<String, ClassType> composeSuperTypes(String className) {
+        List<ClassType> directSuperTypes = getClassSignature(className).directSuperTypes;
+        if (directSuperTypes.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, ClassType> superTypes = new LinkedHashMap<>();
+        for (ClassType directSuperType : directSuperTypes) {
+            superTypes.putIfAbsent(directSuperType.name, directSuperType);
+        }
+        for (ClassType directSuperType : directSuperTypes) {
+            Map<String, SignatureType> typeArguments = getClassSignature(directSuperType.name).bindTypeArguments(directSuperType.typeArguments);
+            for (ClassType superType : lookupSuperTypes(directSuperType.name).values()) {
+                superTypes.putIfAbsent(superType.name, superType.substitute(typeArguments));
+            }
+        }
+        return Collections.unmodifiableMap(superTypes);
+    }
+
+    private ClassSignature getClassSignature(String className) {
+        ClassSignature classSignature = classSignatures.get(className);
+        if (classSignature == null) {
+            ByteBuffer classFile = readClassFile(className);
+            classSignature = classFile == null ? MISSING : parseClassFile(classFile);
+            ClassSignature previousClassSignature = classSignatures.putIfAbsent(className, classSignature);
+            if (previousClassSignature != null) {
+                classSignature = previousClassSignature;
+            }
+        }
+        return classSignature;
+    }
+
+    @SneakyThrows
+    private ByteBuffer readClassFile(String className) {
+        String classFileName = className + ".class";
+        for (Path directory : directories) {
+            try (FileChannel channel = FileChannel.open(directory.resolve(classFileName), StandardOpenOption.READ)) {
+                ByteBuffer classFile = ByteBuffer.allocate((int) channel.size());
+                while (classFile.hasRemaining() && channel.read(classFile) >= 0) {
+                    // Keep reading until the buffer is full
+                }
+                classFile.flip();
+                return classFile;
+            } catch (NoSuchFileException e) {
+                // Not in this directory
+            }
+        }
+        for (JarFile jarFile : jarFiles) {
+            JarEntry entry = jarFile.getJarEntry(classFileName);
+            if (entry != null) {
+                try (InputStream classFile = jarFile.getInputStream(entry)) {
+                    return ByteBuffer.wrap(readFully(classFile));
+                }
+            }
+        }
+        if (resourceLoader != null) {
+            try (InputStream classFile = resourceLoader.getResourceAsStream(classFileName)) {
+                if (classFile != null) {
+                    return ByteBuffer.wrap(readFully(classFile));
+                }
+            }
+        }
+        return null;
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            bytes.write(chunk, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Read the super class, the interfaces and the Signature attribute of a class file, skipping everything else.
+     */
+    private static ClassSignature parseClassFile(ByteBuffer classFile) {
+        if (classFile.getInt() != CLASS_FILE_MAGIC) {
+            throw new RuntimeException("Not a class file");
+        }
+        classFile.position(classFile.position() + 4);
+        int constantPoolCount = classFile.getShort() & 0xFFFF;
+        int[] constantOffsets = new int[constantPoolCount];
+        for (int i = 1; i <= constantPoolCount - 1; i++) {
+            int tag = classFile.get();
+            constantOffsets[i] = classFile.position();
+            switch (tag) {
+                case 1:
+                    classFile.position(classFile.position() + 2 + (classFile.getShort() & 0xFFFF));
+                    break;
+                case 3:
+                case 4:
+                case 9:
+                case 10:
+                case 11:
+                case 12:
+                case 17:
+                case 18:
+                    classFile.position(classFile.position() + 4);
+                    break;
+                case 5:
+                case 6:
+                    classFile.position(classFile.position() + 8);
+                    i++;
+                    break;
+                case 7:
+                case 8:
+                case 16:
+                case 19:
+                case 20:
+                    classFile.position(classFile.position() + 2);
+                    break;
+                case 15:
+                    classFile.position(classFile.position() + 3);
+                    break;
+                default:
+                    throw new RuntimeException("Unexpected constant pool tag " + tag);
+            }
+        }
+        classFile.position(classFile.position() + 4);
+        int superClassIndex = classFile.getShort() & 0xFFFF;
+        int interfaceCount = classFile.getShort() & 0xFFFF;
+        List<ClassType> rawSuperTypes = new ArrayList<>(interfaceCount + 1);
+        if (superClassIndex != 0) {
+            rawSuperTypes.add(new ClassType(readClassName(classFile, constantOffsets, superClassIndex), NO_TYPE_ARGUMENTS, null));
+        }
+        for (int i = 0; i <= interfaceCount - 1; i++) {
+            rawSuperTypes.add(new ClassType(readClassName(classFile, constantOffsets, classFile.getShort() & 0xFFFF), NO_TYPE_ARGUMENTS, null));
+        }
+        skipMembers(classFile);
+        skipMembers(classFile);
+        int attributeCount = classFile.getShort() & 0xFFFF;
+        for (int i = 0; i <= attributeCount - 1; i++) {
+            String attributeName = readUtf8(classFile, constantOffsets[classFile.getShort() & 0xFFFF]);
+            int attributeLength = classFile.getInt();
+            if ("Signature".equals(attributeName)) {
+                String signature = readUtf8(classFile, constantOffsets[classFile.getShort(classFile.position()) & 0xFFFF]);
+                return new SignatureParser(signature).parseClassSignature();
+            }
+            classFile.position(classFile.position() + attributeLength);
+        }
+        return new ClassSignature(Collections.emptyList(), rawSuperTypes);
+    }
+
+    private static void skipMembers(ByteBuffer classFile) {
+        int memberCount = classFile.getShort() & 0xFFFF;
+        for (int i = 0; i <= memberCount - 1; i++) {
+            classFile.position(classFile.position() + 6);
+            int attributeCount = classFile.getShort() & 0xFFFF;
+            for (int j = 0; j <= attributeCount - 1; j++) {
+                classFile.position(classFile.position() + 2);
+                int attributeLength = classFile.getInt();
+                classFile.position(classFile.position() + attributeLength);
+            }
+        }
+    }
+
+    private static String readClassName(ByteBuffer classFile, int[] constantOffsets, int classIndex) {
+        return readUtf8(classFile, constantOffsets[classFile.getShort(constantOffsets[classIndex]) & 0xFFFF]);
+    }
+
+    /**
+     * Decode the modified UTF-8 of a constant pool entry, without moving the position of classFile.
+     */
+    private static String readUtf8(ByteBuffer classFile, int offset) {
+        int length = classFile.getShort(offset) & 0xFFFF;
+        char[] chars = new char[length];
+        int charCount = 0;
+        int position = offset + 2;
+        int end = position + length;
+        while (position < end) {
+            int b = classFile.get(position++) & 0xFF;
+            if (b < 0x80) {
+                chars[charCount++] = (char) b;
+            } else if (b < 0xE0) {
+                chars[charCount++] = (char) (((b & 0x1F) << 6) | (classFile.get(position++) & 0x3F));
+            } else {
+                chars[charCount++] = (char) (((b & 0x0F) << 12) | ((classFile.get(position++) & 0x3F) << 6) | (classFile.get(position++) & 0x3F));
+            }
+        }
+        return new String(chars, 0, charCount);
+    }
+
+    /**
+     * The type parameters and the direct super types, excluding Object, of a class.
+     */
+    private static final class ClassSignature {
+
+        private final List<TypeParameter> typeParameters;
+
+        private final List<ClassType> directSuperTypes;
+
+        ClassSignature(List<TypeParameter> typeParameters, List<ClassType> superTypes) {
+            this.typeParameters = typeParameters;
+            List<ClassType> directSuperTypes = new ArrayList<>(superTypes.size());
+            for (ClassType superType : superTypes) {
+                if (!OBJECT.equals(superType.name)) {
+                    directSuperTypes.add(superType);
+                }
+            }
+            this.directSuperTypes = directSuperTypes;
+        }
+
+        Map<String, SignatureType> bindTypeArguments(SignatureType[] typeArguments) {
+            if (typeArguments.length != typeParameters.size()) {
+                return Collections.emptyMap();
+            }
+            Map<String, SignatureType> boundTypeArguments = new HashMap<>(typeArguments.length * 2);
+            for (int i = 0; i <= typeArguments.length - 1; i++) {
+                boundTypeArguments.put(typeParameters.get(i).name, typeArguments[i]);
+            }
+            return boundTypeArguments;
+        }
+
+        SignatureType getFirstBound(String typeVariableName) {
+            for (TypeParameter typeParameter : typeParameters) {
+                if (typeParameter.name.equals(typeVariableName)) {
+                    return typeParameter.firstBound;
+                }
+            }
+            return null;
+        }
+
+    }
+
+    private static final class TypeParameter {
+
+        private final String name;
+
+        private final SignatureType firstBound;
+
+        TypeParameter(String name, SignatureType firstBound) {
+            this.name = name;
+            this.firstBound = firstBound;
+        }
+
+    }
+
+    /**
+     * A type as written in a generic signature, with classes named by their internal names.
+     */
+    private abstract static class SignatureType {
+
+        abstract SignatureType substitute(Map<String, SignatureType> typeArguments);
+
+        abstract void appendTypeName(StringBuilder typeName);
+
+        /**
+         * @param declaringClass the class that declares the type variables left in this type
+         * @return the erased class, named by its descriptor when it is an array as Class.getName() does
+         */
+        abstract ClassType erase(ClassSignature declaringClass);
+
+        StringBuilder appendErasedDescriptor(StringBuilder descriptor, ClassSignature declaringClass) {
+            return descriptor.append('L').append(erase(declaringClass).name).append(';');
+        }
+
+        String getTypeName() {
+            StringBuilder typeName = new StringBuilder();
+            appendTypeName(typeName);
+            return typeName.toString();
+        }
+
+    }
+
+    private static final class ClassType extends SignatureType {
+
+        private final String name;
+
+        private final SignatureType[] typeArguments;
+
+        private final ClassType ownerType;
+
+        ClassType(String name, SignatureType[] typeArguments, ClassType ownerType) {
+            this.name = name;
+            this.typeArguments = typeArguments;
+            this.ownerType = ownerType;
+        }
+
+        @Override
+        ClassType substitute(Map<String, SignatureType> typeArguments) {
+            if (typeArguments.isEmpty()) {
+                return this;
+            }
+            SignatureType[] newTypeArguments = this.typeArguments.length == 0 ? NO_TYPE_ARGUMENTS : new SignatureType[this.typeArguments.length];
+            for (int i = 0; i <= newTypeArguments.length - 1; i++) {
+                newTypeArguments[i] = this.typeArguments[i].substitute(typeArguments);
+            }
+            return new ClassType(name, newTypeArguments, ownerType == null ? null : ownerType.substitute(typeArguments));
+        }
+
+        @Override
+        void appendTypeName(StringBuilder typeName) {
+            if (ownerType != null) {
+                ownerType.appendTypeName(typeName);
+                typeName.append('$').append(name, ownerType.name.length() + 1, name.length());
+            } else {
+                typeName.append(name.replace('/', '.'));
+            }
+            if (typeArguments.length > 0) {
+                typeName.append('<');
+                for (int i = 0; i <= typeArguments.length - 1; i++) {
+                    if (i > 0) {
+                        typeName.append(", ");
+                    }
+                    typeArguments[i].appendTypeName(typeName);
+                }
+                typeName.append('>');
+            }
+        }
+
+        @Override
+        ClassType erase(ClassSignature declaringClass) {
+            return typeArguments.length == 0 && ownerType == null ? this : new ClassType(name, NO_TYPE_ARGUMENTS, null);
+        }
+
+    }
+
+    private static final class TypeVariableType extends SignatureType {
+
+        private final String name;
+
+        TypeVariableType(String name) {
+            this.name = name;
+        }
+
+        @Override
+        SignatureType substitute(Map<String, SignatureType> typeArguments) {
+            return typeArguments.getOrDefault(name, this);
+        }
+
+        @Override
+        void appendTypeName(StringBuilder typeName) {
+            typeName.append(name);
+        }
+
+        @Override
+        ClassType erase(ClassSignature declaringClass) {
+            SignatureType firstBound = declaringClass.getFirstBound(name);
+            return firstBound == null ? new ClassType(OBJECT, NO_TYPE_ARGUMENTS, null) : firstBound.erase(declaringClass);
+        }
+
+        @Override
+        StringBuilder appendErasedDescriptor(StringBuilder descriptor, ClassSignature declaringClass) {
+            SignatureType firstBound = declaringClass.getFirstBound(name);
+            if (firstBound == null) {
+                return descriptor.append('L').append(OBJECT).append(';');
+            }
+            return firstBound.appendErasedDescriptor(descriptor, declaringClass);
+        }
+
+    }
+
+    private static final class ArrayType extends SignatureType {
+
+        private final SignatureType componentType;
+
+        ArrayType(SignatureType componentType) {
+            this.componentType = componentType;
+        }
+
+        @Override
+        SignatureType substitute(Map<String, SignatureType> typeArguments) {
+            return new ArrayType(componentType.substitute(typeArguments));
+        }
+
+        @Override
+        void appendTypeName(StringBuilder typeName) {
+            componentType.appendTypeName(typeName);
+            typeName.append("[]");
+        }
+
+        @Override
+        ClassType erase(ClassSignature declaringClass) {
+            return new ClassType(appendErasedDescriptor(new StringBuilder(), declaringClass).toString(), NO_TYPE_ARGUMENTS, null);
+        }
+
+        @Override
+        StringBuilder appendErasedDescriptor(StringBuilder descriptor, ClassSignature declaringClass) {
+            return componentType.appendErasedDescriptor(descriptor.append('['), declaringClass);
+        }
+
+    }
+
+    private static final class WildcardType extends SignatureType {
+
+        private final char indicator;
+
+        private final SignatureType bound;
+
+        WildcardType(char indicator, SignatureType bound) {
+            this.indicator = indicator;
+            this.bound = bound;
+        }
+
+        @Override
+        SignatureType substitute(Map<String, SignatureType> typeArguments) {
+            return bound == null ? this : new WildcardType(indicator, bound.substitute(typeArguments));
+        }
+
+        @Override
+        void appendTypeName(StringBuilder typeName) {
+            typeName.append('?');
+            if (indicator == '+') {
+                typeName.append(" extends ");
+                bound.appendTypeName(typeName);
+            } else if (indicator == '-') {
+                typeName.append(" super ");
+                bound.appendTypeName(typeName);
+            }
+        }
+
+        @Override
+        ClassType erase(ClassSignature declaringClass) {
+            return indicator == '+' ? bound.erase(declaringClass) : new ClassType(OBJECT, NO_TYPE_ARGUMENTS, null);
+        }
+
+    }
+
+    private static final class BaseType extends SignatureType {
+
+        private final char descriptor;
+
+        BaseType(char descriptor) {
+            this.descriptor = descriptor;
+        }
+
+        @Override
+        SignatureType substitute(Map<String, SignatureType> typeArguments) {
+            return this;
+        }
+
+        @Override
+        void appendTypeName(StringBuilder typeName) {
+            switch (descriptor) {
+                case 'B':
+                    typeName.append("byte");
+                    break;
+                case 'C':
+                    typeName.append("char");
+                    break;
+                case 'D':
+                    typeName.append("double");
+                    break;
+                case 'F':
+                    typeName.append("float");
+                    break;
+                case 'I':
+                    typeName.append("int");
+                    break;
+                case 'J':
+                    typeName.append("long");
+                    break;
+                case 'S':
+                    typeName.append("short");
+                    break;
+                case 'Z':
+                    typeName.append("boolean");
+                    break;
+                default:
+                    throw new RuntimeException("Unexpected descriptor " + descriptor);
+            }
+        }
+
+        @Override
+        ClassType erase(ClassSignature declaringClass) {
+            return new ClassType(getTypeName(), NO_TYPE_ARGUMENTS, null);
+        }
+
+        @Override
+        StringBuilder appendErasedDescriptor(StringBuilder descriptor, ClassSignature declaringClass) {
+            return descriptor.append(this.descriptor);
+        }
+
+    }
+
+    /**
+     * Parses the class signatures of JVMS 4.7.9.1.
+     */
+    private static final class SignatureParser {
+
+        private final String signature;
+
+        private int position;
+
+        SignatureParser(String signature) {
+            this.signature = signature;
+        }
+
+        ClassSignature parseClassSignature() {
+            List<TypeParameter> typeParameters = new ArrayList<>();
+            if (signature.charAt(position) == '<') {
+                position++;
+                while (signature.charAt(position) != '>') {
+                    typeParameters.add(parseTypeParameter());
+                }
+                position++;
+            }
+            List<ClassType> superTypes = new ArrayList<>();
+            while (position < signature.length()) {
+                superTypes.add(parseClassType());
+            }
+            return new ClassSignature(typeParameters, superTypes);
+        }
+
+        private TypeParameter parseTypeParameter() {
+            int separator = signature.indexOf(':', position);
+            String name = signature.substring(position, separator);
+            position = separator;
+            SignatureType firstBound = null;
+            while (signature.charAt(position) == ':') {
+                position++;
+                char tag = signature.charAt(position);
+                if (tag == 'L' || tag == 'T' || tag == '[') {
+                    SignatureType bound = parseReferenceType();
+                    if (firstBound == null) {
+                        firstBound = bound;
+                    }
+                }
+            }
+            return new TypeParameter(name, firstBound);
+        }
+
+        private SignatureType parseReferenceType() {
+            char tag = signature.charAt(position);
+            switch (tag) {
+                case 'L':
+                    return parseClassType();
+                case 'T':
+                    int end = signature.indexOf(';', position);
+                    TypeVariableType typeVariable = new TypeVariableType(signature.substring(position + 1, end));
+                    position = end + 1;
+                    return typeVariable;
+                case '[':
+                    position++;
+                    return new ArrayType(parseReferenceType());
+                default:
+                    position++;
+                    return new BaseType(tag);
+            }
+        }
+
+        private ClassType parseClassType() {
+            position++;
+            StringBuilder name = new StringBuilder();
+            ClassType ownerType = null;
+            while (true) {
+                int start = position;
+                char c = signature.charAt(position);
+                while (c != '<' && c != '.' && c != ';') {
+                    c = signature.charAt(++position);
+                }
+                name.append(signature, start, position);
+                SignatureType[] typeArguments = NO_TYPE_ARGUMENTS;
+                if (c == '<') {
+                    typeArguments = parseTypeArguments();
+                    c = signature.charAt(position);
+                }
+                position++;
+                if (c == ';') {
+                    return new ClassType(name.toString(), typeArguments, ownerType);
+                }
+                ownerType = new ClassType(name.toString(), typeArguments, ownerType);
+                name.append('$');
+            }
+        }
+
+        private SignatureType[] parseTypeArguments() {
+            position++;
+            List<SignatureType> typeArguments = new ArrayList<>();
+            while (signature.charAt(position) != '>') {
+                char indicator = signature.charAt(position);
+                if (indicator == '*') {
+                    position++;
+                    typeArguments.add(new WildcardType(indicator, null));
+                } else if (indicator == '+' || indicator == '-') {
+                    position++;
+                    typeArguments.add(new WildcardType(indicator, parseReferenceType()));
+                } else {
+                    typeArguments.add(parseReferenceType());
+                }
+            }
+            position++;
+            return typeArguments.toArray(NO_TYPE_ARGUMENTS);
+        }
+
+    }
+
+}
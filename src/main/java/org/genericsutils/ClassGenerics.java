@@ -0,0 +1,79 @@
+package org.genericsutils;
+
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+
+/**
+ * ClassGenerics holds the generic declarations of a class that {@link GenericsUtils} reads on every hop of a hierarchy
+ * walk. Reflection returns a fresh copy of these arrays on each call, so they are read once per class and kept here
+ * with every ParameterizedType already converted to a {@link ResolvedParameterizedType}.
+ */
+final class ClassGenerics {
+
+    private static final ClassValue<ClassGenerics> CLASS_GENERICS = new ClassValue<ClassGenerics>() {
+        @Override
+        protected ClassGenerics computeValue(Class<?> type) {
+            return new ClassGenerics(type);
+        }
+    };
+
+    private final TypeVariable<?>[] typeParameters;
+
+    private final Type genericSuperclass;
+
+    private final Type[] genericInterfaces;
+
+    private ClassGenerics(Class<?> clazz) {
+        this.typeParameters = clazz.getTypeParameters();
+        this.genericSuperclass = ResolvedParameterizedType.canonicalize(clazz.getGenericSuperclass());
+        Type[] genericInterfaces = clazz.getGenericInterfaces();
+        for (int i = 0; i <= genericInterfaces.length - 1; i++) {
+            genericInterfaces[i] = ResolvedParameterizedType.canonicalize(genericInterfaces[i]);
+        }
+        this.genericInterfaces = genericInterfaces;
+    }
+
+    static ClassGenerics of(Class<?> clazz) {
+        return CLASS_GENERICS.get(clazz);
+    }
+
+    /**
+     * @return the type parameters of the class, which must not be modified
+     */
+    TypeVariable<?>[] getTypeParameters() {
+        return typeParameters;
+    }
+
+    /**
+     * @return the generic super class, or null for interfaces, primitives and Object
+     */
+    Type getGenericSuperclass() {
+        return genericSuperclass;
+    }
+
+    /**
+     * @return the generic interfaces of the class, which must not be modified
+     */
+    Type[] getGenericInterfaces() {
+        return genericInterfaces;
+    }
+
+    /**
+     * @param typeVariable
+     * @return the position of typeVariable among the type parameters of the class, or -1 if it is declared elsewhere
+     */
+    int indexOf(TypeVariable<?> typeVariable) {
+        for (int i = 0; i <= typeParameters.length - 1; i++) {
+            if (typeParameters[i] == typeVariable) {
+                return i;
+            }
+        }
+        for (int i = 0; i <= typeParameters.length - 1; i++) {
+            if (typeParameters[i].equals(typeVariable)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,16 @@
+package org.genericsutils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class, or every class of a package, for which the genericsutils-processor annotation processor should
+ * generate a {@link GeneratedGenericsTable} at compile time. {@link GenericsUtils#getGenericClassFromClass} answers
+ * from the generated tables before it falls back to reflection.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target({ElementType.TYPE, ElementType.PACKAGE})
+public @interface GenerateGenericsTable {
+}
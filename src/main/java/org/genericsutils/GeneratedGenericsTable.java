@@ -0,0 +1,30 @@
+package org.genericsutils;
+
+/**
+ * GeneratedGenericsTable is implemented by the classes the genericsutils-processor annotation processor generates for
+ * types marked with {@link GenerateGenericsTable}. Implementations are found with {@link java.util.ServiceLoader}.
+ */
+public interface GeneratedGenericsTable {
+
+    /**
+     * Register the generic classes of every super type of every class covered by this table.
+     *
+     * @param registrar
+     */
+    void registerGenericClasses(Registrar registrar);
+
+    interface Registrar {
+
+        /**
+         * Example: ClassA extends ClassB<String, Integer> registers (ClassA.class, ClassB.class, {String.class, Integer.class})
+         *
+         * @param fromClass
+         * @param baseClassWithGeneric
+         * @param genericClasses the class getGenericClassFromClass returns for each position, or null where it has to
+         *                       fall back to reflection
+         */
+        void register(Class<?> fromClass, Class<?> baseClassWithGeneric, Class<?>[] genericClasses);
+
+    }
+
+}
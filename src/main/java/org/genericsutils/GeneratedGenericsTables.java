@@ -0,0 +1,54 @@
+package org.genericsutils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * GeneratedGenericsTables merges every {@link GeneratedGenericsTable} found on the class path into one read only index.
+ * The tables are loaded on the first lookup.
+ */
+final class GeneratedGenericsTables {
+
+    private GeneratedGenericsTables() {
+    }
+
+    /**
+     * @param fromClass
+     * @param baseClassWithGeneric
+     * @param genericPosition
+     * @return the generated answer, or null if no table covers it and reflection has to be used
+     */
+    static Class<?> getGenericClass(Class<?> fromClass, Class<?> baseClassWithGeneric, int genericPosition) {
+        Map<Class<?>, Class<?>[]> genericClassesOfFromClass = Holder.TABLE.get(fromClass);
+        if (genericClassesOfFromClass == null) {
+            return null;
+        }
+        Class<?>[] genericClasses = genericClassesOfFromClass.get(baseClassWithGeneric);
+        if (genericClasses == null || genericPosition < 0 || genericPosition > genericClasses.length - 1) {
+            return null;
+        }
+        return genericClasses[genericPosition];
+    }
+
+    private static Map<Class<?>, Map<Class<?>, Class<?>[]>> load() {
+        Map<Class<?>, Map<Class<?>, Class<?>[]>> table = new HashMap<>();
+        GeneratedGenericsTable.Registrar registrar = (fromClass, baseClassWithGeneric, genericClasses) ->
+                table.computeIfAbsent(fromClass, clazz -> new HashMap<>()).put(baseClassWithGeneric, genericClasses.clone());
+        for (GeneratedGenericsTable generatedGenericsTable : ServiceLoader.load(GeneratedGenericsTable.class, GeneratedGenericsTables.class.getClassLoader())) {
+            generatedGenericsTable.registerGenericClasses(registrar);
+        }
+        if (table.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return table;
+    }
+
+    private static final class Holder {
+
+        private static final Map<Class<?>, Map<Class<?>, Class<?>[]>> TABLE = load();
+
+    }
+
+}
@@ -0,0 +1,66 @@
+package org.genericsutils;
+
+import java.util.Objects;
+
+/**
+ * GenericQuery is one question of a batch lookup: which type the generic at genericPosition of baseClassWithGeneric
+ * resolves to. The position is checked against the generics of the base class when the query is made, so the same
+ * queries can be answered for many classes without checking them again.
+ * Example: getGenericClassesFromClass(ClassA.class, GenericQuery.of(ClassB.class, 0), GenericQuery.of(ClassB.class, 1))
+ * for ClassA extends ClassB<String, Integer> returns {String.class, Integer.class}
+ */
+public final class GenericQuery {
+
+    private final Class<?> baseClassWithGeneric;
+
+    private final int genericPosition;
+
+    private GenericQuery(Class<?> baseClassWithGeneric, int genericPosition) {
+        this.baseClassWithGeneric = baseClassWithGeneric;
+        this.genericPosition = genericPosition;
+    }
+
+    /**
+     * @param baseClassWithGeneric
+     * @param genericPosition
+     * @return
+     */
+    public static GenericQuery of(Class<?> baseClassWithGeneric, int genericPosition) {
+        int typeParameterCount = ClassGenerics.of(baseClassWithGeneric).getTypeParameters().length;
+        if (genericPosition < 0 || genericPosition > typeParameterCount - 1) {
+            throw new RuntimeException("Generic Position " + genericPosition + " exceeds the number of generics in " + baseClassWithGeneric.getTypeName());
+        }
+        return new GenericQuery(baseClassWithGeneric, genericPosition);
+    }
+
+    public Class<?> getBaseClassWithGeneric() {
+        return baseClassWithGeneric;
+    }
+
+    public int getGenericPosition() {
+        return genericPosition;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GenericQuery)) {
+            return false;
+        }
+        GenericQuery that = (GenericQuery) o;
+        return genericPosition == that.genericPosition && baseClassWithGeneric == that.baseClassWithGeneric;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(baseClassWithGeneric, genericPosition);
+    }
+
+    @Override
+    public String toString() {
+        return baseClassWithGeneric.getTypeName() + "#" + genericPosition;
+    }
+
+}
@@ -0,0 +1,126 @@
+package org.genericsutils;
+
+import java.lang.reflect.Type;
+import java.util.function.Supplier;
+
+/**
+ * GenericResolver is a precompiled lookup of one generic of one base class, for callers that ask the same question of
+ * many classes. Everything that depends only on the base class and position is checked once when the resolver is
+ * obtained, and the answer for each class is computed on its first lookup and then held by the class itself, so every
+ * later lookup is a single {@link ClassValue} read that allocates nothing.
+ * Example: ClassA extends ClassB<String, Integer>, GenericResolver.of(ClassB.class, 1).resolveClass(ClassA.class) will
+ * return Integer.class
+ * Answers are kept for as long as the resolver is reachable, independently of {@link GenericsCache}.
+ */
+public final class GenericResolver {
+
+    private static final Object NOT_FOUND = new Object();
+
+    private static final ClassValue<GenericResolver[]> RESOLVERS = new ClassValue<GenericResolver[]>() {
+        @Override
+        protected GenericResolver[] computeValue(Class<?> type) {
+            GenericResolver[] resolvers = new GenericResolver[ClassGenerics.of(type).getTypeParameters().length];
+            for (int i = 0; i <= resolvers.length - 1; i++) {
+                resolvers[i] = new GenericResolver(type, i);
+            }
+            return resolvers;
+        }
+    };
+
+    private final Class<?> baseClassWithGeneric;
+
+    private final int genericPosition;
+
+    private final ClassValue<Object> genericTypes = new ClassValue<Object>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            Type genericType = GenericsUtils.getGenericTypeFromClass(type, baseClassWithGeneric, genericPosition);
+            return genericType == null ? NOT_FOUND : genericType;
+        }
+    };
+
+    private final ClassValue<Object> genericClasses = new ClassValue<Object>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            Class<?> genericClass = GenericsUtils.getGenericClassFromClass(type, baseClassWithGeneric, genericPosition);
+            return genericClass == null ? NOT_FOUND : genericClass;
+        }
+    };
+
+    private final ClassValue<Object> instanceFactories = new ClassValue<Object>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            Class<?> genericClass = resolveClass(type);
+            return genericClass == null ? NOT_FOUND : InstanceFactories.of(genericClass);
+        }
+    };
+
+    private GenericResolver(Class<?> baseClassWithGeneric, int genericPosition) {
+        this.baseClassWithGeneric = baseClassWithGeneric;
+        this.genericPosition = genericPosition;
+    }
+
+    /**
+     * @param baseClassWithGeneric
+     * @param genericPosition
+     * @return the resolver of the generic at genericPosition of baseClassWithGeneric, the same instance on every call
+     */
+    public static GenericResolver of(Class<?> baseClassWithGeneric, int genericPosition) {
+        GenericResolver[] resolvers = RESOLVERS.get(baseClassWithGeneric);
+        if (genericPosition < 0 || genericPosition > resolvers.length - 1) {
+            throw new RuntimeException("Generic Position " + genericPosition + " exceeds the number of generics in " + baseClassWithGeneric.getTypeName());
+        }
+        return resolvers[genericPosition];
+    }
+
+    public Class<?> getBaseClassWithGeneric() {
+        return baseClassWithGeneric;
+    }
+
+    public int getGenericPosition() {
+        return genericPosition;
+    }
+
+    /**
+     * Same as {@link GenericsUtils#getGenericTypeFromClass(Class, Class, int)} for the base class and position of this
+     * resolver.
+     *
+     * @param fromClass
+     * @return the generic type, or null if the base class is not in the hierarchy of fromClass
+     */
+    public Type resolve(Class<?> fromClass) {
+        Object genericType = genericTypes.get(fromClass);
+        return genericType == NOT_FOUND ? null : (Type) genericType;
+    }
+
+    /**
+     * Same as {@link GenericsUtils#getGenericClassFromClass(Class, Class, int)} for the base class and position of this
+     * resolver.
+     *
+     * @param fromClass
+     * @return the generic class, or null if the base class is not in the hierarchy of fromClass
+     */
+    public Class<?> resolveClass(Class<?> fromClass) {
+        Object genericClass = genericClasses.get(fromClass);
+        return genericClass == NOT_FOUND ? null : (Class<?>) genericClass;
+    }
+
+    /**
+     * Same as {@link GenericsUtils#getGenericInstanceFactory(Class, Class, int)} for the base class and position of this
+     * resolver.
+     *
+     * @param fromClass
+     * @return a Supplier of new instances of the generic class, or null if the base class is not in the hierarchy of
+     * fromClass
+     */
+    public Supplier<?> getInstanceFactory(Class<?> fromClass) {
+        Object instanceFactory = instanceFactories.get(fromClass);
+        return instanceFactory == NOT_FOUND ? null : (Supplier<?>) instanceFactory;
+    }
+
+    @Override
+    public String toString() {
+        return "GenericResolver{" + baseClassWithGeneric.getTypeName() + "#" + genericPosition + "}";
+    }
+
+}
@@ -0,0 +1,162 @@
+package org.genericsutils;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GenericsCache memoizes the super types, members and assignability checks resolved by {@link GenericsUtils} for each
+ * class.
+ * Entries are attached to the class through a {@link ClassValue} so that a class loader can still be unloaded once its
+ * classes are no longer referenced.
+ */
+public final class GenericsCache {
+
+    private static volatile boolean enabled = true;
+
+    private static volatile ClassValue<ResolvedSuperTypes> resolvedSuperTypes = newResolvedSuperTypes();
+
+    private static volatile ClassValue<ResolvedMembers> resolvedMembers = newResolvedMembers();
+
+    private static volatile ClassValue<Map<Object, Boolean>> assignabilities = newAssignabilities();
+
+    private GenericsCache() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turn the cache on or off. Turning it off also drops everything cached so far.
+     *
+     * @param enabled
+     */
+    public static void setEnabled(boolean enabled) {
+        GenericsCache.enabled = enabled;
+        if (!enabled) {
+            clear();
+        }
+    }
+
+    /**
+     * Drop every cached resolution.
+     */
+    public static void clear() {
+        resolvedSuperTypes = newResolvedSuperTypes();
+        resolvedMembers = newResolvedMembers();
+        assignabilities = newAssignabilities();
+    }
+
+    /**
+     * Find the super type of fromClass whose raw class is baseClassWithGeneric, resolving the hierarchy of fromClass
+     * only on the first lookup.
+     *
+     * @param fromClass
+     * @param baseClassWithGeneric
+     * @return the matching super type, or null if baseClassWithGeneric is not in the hierarchy of fromClass
+     */
+    static Type getSuperType(Class<?> fromClass, Class<?> baseClassWithGeneric) {
+        GenericsMetrics.recordCacheLookup(fromClass);
+        return resolvedSuperTypes.get(fromClass).getSuperType(baseClassWithGeneric);
+    }
+
+    static ResolvedSuperTypes getResolvedSuperTypes(Class<?> fromClass) {
+        GenericsMetrics.recordCacheLookup(fromClass);
+        return resolvedSuperTypes.get(fromClass);
+    }
+
+    static ResolvedMembers getResolvedMembers(Class<?> fromClass) {
+        GenericsMetrics.recordCacheLookup(fromClass);
+        return resolvedMembers.get(fromClass);
+    }
+
+    /**
+     * Check whether fromType is assignable to toType, on the first check of the pair only. Results are kept with the
+     * raw class of fromType, keyed by toType alone when fromType is a class.
+     *
+     * @param fromType a canonical type, see {@link ResolvedParameterizedType#canonicalize(Type)}
+     * @param toType   a canonical type
+     * @return
+     */
+    static boolean isAssignable(Type fromType, Type toType) {
+        Class<?> rawFromType = GenericsUtils.getRawClass(fromType);
+        GenericsMetrics.recordCacheLookup(rawFromType);
+        Map<Object, Boolean> assignabilitiesOfFromType = assignabilities.get(rawFromType);
+        Object key = fromType == rawFromType ? toType : new TypePair(fromType, toType);
+        Boolean assignable = assignabilitiesOfFromType.get(key);
+        if (assignable == null) {
+            GenericsMetrics.recordCacheMiss(rawFromType);
+            assignable = GenericsUtils.checkAssignable(fromType, toType);
+            assignabilitiesOfFromType.put(key, assignable);
+        }
+        return assignable;
+    }
+
+    private static ClassValue<ResolvedSuperTypes> newResolvedSuperTypes() {
+        return new ClassValue<ResolvedSuperTypes>() {
+            @Override
+            protected ResolvedSuperTypes computeValue(Class<?> type) {
+                GenericsMetrics.recordCacheMiss(type);
+                ResolvedSuperTypes indexedSuperTypes = PersistentGenericsIndex.getIndexedSuperTypes(type);
+                if (indexedSuperTypes != null) {
+                    return indexedSuperTypes;
+                }
+                return GenericsUtils.composeAllSuperTypes(type);
+            }
+        };
+    }
+
+    private static ClassValue<ResolvedMembers> newResolvedMembers() {
+        return new ClassValue<ResolvedMembers>() {
+            @Override
+            protected ResolvedMembers computeValue(Class<?> type) {
+                GenericsMetrics.recordCacheMiss(type);
+                return GenericsUtils.findAllMembers(type);
+            }
+        };
+    }
+
+    private static ClassValue<Map<Object, Boolean>> newAssignabilities() {
+        return new ClassValue<Map<Object, Boolean>>() {
+            @Override
+            protected Map<Object, Boolean> computeValue(Class<?> type) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+    }
+
+    private static final class TypePair {
+
+        private final Type fromType;
+
+        private final Type toType;
+
+        private final int hashCode;
+
+        TypePair(Type fromType, Type toType) {
+            this.fromType = fromType;
+            this.toType = toType;
+            this.hashCode = 31 * fromType.hashCode() + toType.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TypePair)) {
+                return false;
+            }
+            TypePair that = (TypePair) o;
+            return fromType.equals(that.fromType) && toType.equals(that.toType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+}
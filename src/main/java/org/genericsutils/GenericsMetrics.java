@@ -0,0 +1,258 @@
+package org.genericsutils;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * GenericsMetrics counts what {@link GenericsUtils} does: calls and latency per public method, cache lookups and
+ * misses, the types visited while walking hierarchies, and the ParameterizedTypes constructed. It is off by default,
+ * and while it is off each instrumented point costs a single read of a volatile flag.
+ * Besides the counters kept here, every event is handed to the {@link GenericsMetricsListener} set with
+ * {@link #setListener(GenericsMetricsListener)}, such as {@link JfrGenericsMetricsListener} to record JFR events.
+ */
+public final class GenericsMetrics {
+
+    /**
+     * The public methods of {@link GenericsUtils} that are timed.
+     */
+    public enum Operation {
+        GET_GENERIC_CLASS_FROM_CLASS,
+        GET_GENERIC_TYPE_FROM_CLASS,
+        RESOLVE_SUPER_TYPES,
+        RESOLVE_MEMBERS,
+        RESOLVE_MEMBER_TYPE,
+        GET_GENERIC_CLASSES_FROM_CLASSES,
+        GET_GENERIC_TYPES_FROM_TYPES,
+        IS_ASSIGNABLE
+    }
+
+    /**
+     * Latencies are counted in buckets of powers of two nanoseconds, bucket i holding durations from 2^i up to 2^(i+1)
+     * nanoseconds, and bucket 0 also holding durations under a nanosecond.
+     */
+    public static final int LATENCY_BUCKETS = 64;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private static final ClassValue<Integer> HIERARCHY_DEPTHS = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            int depth = 0;
+            Class<?> superclass = type.getSuperclass();
+            if (superclass != null && superclass != Object.class) {
+                depth = HIERARCHY_DEPTHS.get(superclass) + 1;
+            }
+            for (Class<?> superInterface : type.getInterfaces()) {
+                depth = Math.max(depth, HIERARCHY_DEPTHS.get(superInterface) + 1);
+            }
+            return depth;
+        }
+    };
+
+    private static volatile boolean enabled;
+
+    private static volatile GenericsMetricsListener listener;
+
+    private static final LongAdder[] calls = newAdders(OPERATIONS.length);
+
+    private static final LongAdder[][] latencies = new LongAdder[OPERATIONS.length][];
+
+    private static final LongAdder cacheLookups = new LongAdder();
+
+    private static final LongAdder cacheMisses = new LongAdder();
+
+    private static final LongAdder traversals = new LongAdder();
+
+    private static final LongAdder nodesVisited = new LongAdder();
+
+    private static final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+
+    private static final LongAdder parameterizedTypesConstructed = new LongAdder();
+
+    static {
+        for (int i = 0; i <= OPERATIONS.length - 1; i++) {
+            latencies[i] = newAdders(LATENCY_BUCKETS);
+        }
+    }
+
+    private GenericsMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turn the counters and the listener on or off. The counters keep their values while turned off.
+     *
+     * @param enabled
+     */
+    public static void setEnabled(boolean enabled) {
+        GenericsMetrics.enabled = enabled;
+    }
+
+    public static GenericsMetricsListener getListener() {
+        return listener;
+    }
+
+    /**
+     * @param listener the listener to tell about every event while enabled, or null for none
+     */
+    public static void setListener(GenericsMetricsListener listener) {
+        GenericsMetrics.listener = listener;
+    }
+
+    /**
+     * Set every counter back to zero.
+     */
+    public static void reset() {
+        for (int i = 0; i <= OPERATIONS.length - 1; i++) {
+            calls[i].reset();
+            for (LongAdder latency : latencies[i]) {
+                latency.reset();
+            }
+        }
+        cacheLookups.reset();
+        cacheMisses.reset();
+        traversals.reset();
+        nodesVisited.reset();
+        maxDepth.reset();
+        parameterizedTypesConstructed.reset();
+    }
+
+    public static long getCalls(Operation operation) {
+        return calls[operation.ordinal()].sum();
+    }
+
+    /**
+     * @param operation
+     * @return the number of calls in each latency bucket, see {@link #LATENCY_BUCKETS}
+     */
+    public static long[] getLatencyHistogram(Operation operation) {
+        LongAdder[] operationLatencies = latencies[operation.ordinal()];
+        long[] histogram = new long[LATENCY_BUCKETS];
+        for (int i = 0; i <= LATENCY_BUCKETS - 1; i++) {
+            histogram[i] = operationLatencies[i].sum();
+        }
+        return histogram;
+    }
+
+    public static long getCacheLookups() {
+        return cacheLookups.sum();
+    }
+
+    public static long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public static long getCacheHits() {
+        return Math.max(0, cacheLookups.sum() - cacheMisses.sum());
+    }
+
+    /**
+     * @return the number of hierarchies resolved, whether walked or composed from cached super types
+     */
+    public static long getTraversals() {
+        return traversals.sum();
+    }
+
+    /**
+     * @return the number of types whose direct super types were read, over every traversal
+     */
+    public static long getNodesVisited() {
+        return nodesVisited.sum();
+    }
+
+    /**
+     * @return the largest number of levels between a type and the super types resolved for it
+     */
+    public static long getMaxDepth() {
+        return maxDepth.get();
+    }
+
+    public static long getParameterizedTypesConstructed() {
+        return parameterizedTypesConstructed.sum();
+    }
+
+    static void recordLookup(Operation operation, Type fromType, Class<?> baseClassWithGeneric, long startNanos) {
+        long durationNanos = System.nanoTime() - startNanos;
+        calls[operation.ordinal()].increment();
+        latencies[operation.ordinal()][getLatencyBucket(durationNanos)].increment();
+        GenericsMetricsListener currentListener = listener;
+        if (currentListener != null) {
+            currentListener.lookupCompleted(operation, fromType, baseClassWithGeneric, durationNanos);
+        }
+    }
+
+    static void recordCacheLookup(Class<?> fromClass) {
+        if (!enabled) {
+            return;
+        }
+        cacheLookups.increment();
+        GenericsMetricsListener currentListener = listener;
+        if (currentListener != null) {
+            currentListener.cacheLookup(fromClass);
+        }
+    }
+
+    static void recordCacheMiss(Class<?> fromClass) {
+        if (!enabled) {
+            return;
+        }
+        cacheMisses.increment();
+        GenericsMetricsListener currentListener = listener;
+        if (currentListener != null) {
+            currentListener.cacheMiss(fromClass);
+        }
+    }
+
+    static void recordTraversal(Type fromType, int traversalNodesVisited, int depth) {
+        if (!enabled) {
+            return;
+        }
+        traversals.increment();
+        nodesVisited.add(traversalNodesVisited);
+        maxDepth.accumulate(depth);
+        GenericsMetricsListener currentListener = listener;
+        if (currentListener != null) {
+            currentListener.traversalCompleted(fromType, traversalNodesVisited, depth);
+        }
+    }
+
+    /**
+     * Record a hierarchy built from the cached super types of the direct super types of fromClass, where only fromClass
+     * itself is read but the resolved super types reach as deep as its hierarchy goes.
+     */
+    static void recordComposition(Class<?> fromClass) {
+        if (!enabled) {
+            return;
+        }
+        recordTraversal(fromClass, 1, HIERARCHY_DEPTHS.get(fromClass));
+    }
+
+    static void recordParameterizedTypeConstructed(ParameterizedType parameterizedType) {
+        if (!enabled) {
+            return;
+        }
+        parameterizedTypesConstructed.increment();
+        GenericsMetricsListener currentListener = listener;
+        if (currentListener != null) {
+            currentListener.parameterizedTypeConstructed(parameterizedType);
+        }
+    }
+
+    static int getLatencyBucket(long durationNanos) {
+        return durationNanos <= 1 ? 0 : 63 - Long.numberOfLeadingZeros(durationNanos);
+    }
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i <= count - 1; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+}
@@ -0,0 +1,48 @@
+package org.genericsutils;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * GenericsMetricsListener is told about every lookup, cache access and hierarchy walk of {@link GenericsUtils} while
+ * {@link GenericsMetrics} is enabled. Callbacks run on the thread doing the lookup, so they should return quickly.
+ * Every method does nothing by default, so implementations only override what they are interested in.
+ */
+public interface GenericsMetricsListener {
+
+    /**
+     * @param operation
+     * @param fromType             the type looked up from, or null for a batch lookup over several types
+     * @param baseClassWithGeneric the base class asked for, or null for operations without one
+     * @param durationNanos
+     */
+    default void lookupCompleted(GenericsMetrics.Operation operation, Type fromType, Class<?> baseClassWithGeneric, long durationNanos) {
+    }
+
+    /**
+     * @param fromClass the class looked up in the cache of {@link GenericsCache}
+     */
+    default void cacheLookup(Class<?> fromClass) {
+    }
+
+    /**
+     * @param fromClass the class whose lookup was not in the cache and is being resolved
+     */
+    default void cacheMiss(Class<?> fromClass) {
+    }
+
+    /**
+     * @param fromType
+     * @param nodesVisited the number of types whose direct super types were read
+     * @param depth        the number of levels above fromType reached
+     */
+    default void traversalCompleted(Type fromType, int nodesVisited, int depth) {
+    }
+
+    /**
+     * @param parameterizedType
+     */
+    default void parameterizedTypeConstructed(ParameterizedType parameterizedType) {
+    }
+
+}
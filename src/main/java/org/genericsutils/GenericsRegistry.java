@@ -0,0 +1,146 @@
+package org.genericsutils;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GenericsRegistry indexes classes by the generic super types they extend or implement, directly or through their
+ * super classes and interfaces, so that finding every class for some type arguments is a single hash lookup.
+ * Example: with OrderHandler implements Handler<OrderEvent> and AuditedOrderHandler extends OrderHandler registered,
+ * getClasses(Handler.class, OrderEvent.class) returns both classes.
+ * Classes can be registered at any time. Lookups never block and are safe while other threads register. They return
+ * read only views, which also show classes registered later under super types that were already indexed.
+ * Type arguments are indexed as resolved: a class whose super type is still generic, such as GenericHandler<T>
+ * implements Handler<T>, is only found through its type variable, or through {@link #getClasses(Class)}.
+ */
+public final class GenericsRegistry {
+
+    private final Set<Class<?>> baseClassesWithGeneric;
+
+    private final Set<Class<?>> registeredClasses = ConcurrentHashMap.newKeySet();
+
+    private final Map<Class<?>, Set<Class<?>>> classesByRawType = new ConcurrentHashMap<>();
+
+    private final Map<TypeArgumentsKey, Set<Class<?>>> classesByTypeArguments = new ConcurrentHashMap<>();
+
+    /**
+     * @param baseClassesWithGeneric the base classes to index, or none to index every super type of the registered
+     *                               classes
+     */
+    public GenericsRegistry(Class<?>... baseClassesWithGeneric) {
+        this.baseClassesWithGeneric = new HashSet<>(Arrays.asList(baseClassesWithGeneric));
+    }
+
+    /**
+     * Index clazz under each of its super types. Registering a class again has no effect.
+     *
+     * @param clazz
+     */
+    public void register(Class<?> clazz) {
+        if (!registeredClasses.add(clazz)) {
+            return;
+        }
+        for (Map.Entry<Class<?>, Type> superType : GenericsUtils.resolveSuperTypes(clazz).getSuperTypesByRawClass().entrySet()) {
+            Class<?> rawSuperType = superType.getKey();
+            if (!baseClassesWithGeneric.isEmpty() && !baseClassesWithGeneric.contains(rawSuperType)) {
+                continue;
+            }
+            classesByRawType.computeIfAbsent(rawSuperType, rawType -> ConcurrentHashMap.newKeySet()).add(clazz);
+            if (superType.getValue() instanceof ParameterizedType) {
+                TypeArgumentsKey key = new TypeArgumentsKey(rawSuperType, ((ParameterizedType) superType.getValue()).getActualTypeArguments());
+                classesByTypeArguments.computeIfAbsent(key, typeArguments -> ConcurrentHashMap.newKeySet()).add(clazz);
+            }
+        }
+    }
+
+    public void registerAll(Collection<? extends Class<?>> classes) {
+        for (Class<?> clazz : classes) {
+            register(clazz);
+        }
+    }
+
+    /**
+     * @return every class registered so far
+     */
+    public Set<Class<?>> getRegisteredClasses() {
+        return Collections.unmodifiableSet(registeredClasses);
+    }
+
+    /**
+     * @param baseClassWithGeneric
+     * @return the registered classes that extend or implement baseClassWithGeneric, with any type arguments
+     */
+    public Set<Class<?>> getClasses(Class<?> baseClassWithGeneric) {
+        return view(classesByRawType.get(baseClassWithGeneric));
+    }
+
+    /**
+     * @param baseClassWithGeneric
+     * @param typeArguments        the resolved type arguments of baseClassWithGeneric, in order
+     * @return the registered classes whose super type baseClassWithGeneric resolves to exactly typeArguments
+     */
+    public Set<Class<?>> getClasses(Class<?> baseClassWithGeneric, Type... typeArguments) {
+        return view(classesByTypeArguments.get(new TypeArgumentsKey(baseClassWithGeneric, typeArguments.clone())));
+    }
+
+    /**
+     * @param superType a ParameterizedType such as Handler<OrderEvent>, or a class for every type argument
+     * @return the registered classes with superType among their super types
+     */
+    public Set<Class<?>> getClasses(Type superType) {
+        if (superType instanceof Class<?>) {
+            return getClasses((Class<?>) superType);
+        }
+        if (!(superType instanceof ParameterizedType)) {
+            throw new RuntimeException("Unexpected super type " + superType.getTypeName());
+        }
+        ParameterizedType parameterizedType = (ParameterizedType) superType;
+        return view(classesByTypeArguments.get(new TypeArgumentsKey(GenericsUtils.getRawClass(parameterizedType), parameterizedType.getActualTypeArguments())));
+    }
+
+    private static Set<Class<?>> view(Set<Class<?>> classes) {
+        return classes == null ? Collections.emptySet() : Collections.unmodifiableSet(classes);
+    }
+
+    /**
+     * A raw type with its type arguments, canonicalized so that ParameterizedTypes from any source find each other.
+     */
+    private static final class TypeArgumentsKey {
+
+        private final Class<?> rawType;
+
+        private final Type[] typeArguments;
+
+        private final int hashCode;
+
+        TypeArgumentsKey(Class<?> rawType, Type[] typeArguments) {
+            for (int i = 0; i <= typeArguments.length - 1; i++) {
+                typeArguments[i] = ResolvedParameterizedType.canonicalize(typeArguments[i]);
+            }
+            this.rawType = rawType;
+            this.typeArguments = typeArguments;
+            this.hashCode = 31 * rawType.hashCode() + Arrays.hashCode(typeArguments);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TypeArgumentsKey)) {
+                return false;
+            }
+            TypeArgumentsKey that = (TypeArgumentsKey) o;
+            return hashCode == that.hashCode && rawType == that.rawType && Arrays.equals(typeArguments, that.typeArguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+    }
+
+}
@@ -0,0 +1,80 @@
+package org.genericsutils;
+
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * GenericsSnapshot is an immutable copy of the resolved super types of a fixed set of classes, made by
+ * {@link GenericsWarmUp}. Lookups of those classes are reads of a map that never changes after the snapshot is made, so
+ * they take no locks and are never affected by {@link GenericsCache#clear()}. Lookups of any other class are answered
+ * by {@link GenericsUtils}.
+ */
+public final class GenericsSnapshot {
+
+    private final Map<Class<?>, ResolvedSuperTypes> resolvedSuperTypes;
+
+    GenericsSnapshot(Map<Class<?>, ResolvedSuperTypes> resolvedSuperTypes) {
+        this.resolvedSuperTypes = Collections.unmodifiableMap(new HashMap<>(resolvedSuperTypes));
+    }
+
+    /**
+     * @return the classes whose super types are held in this snapshot
+     */
+    public Set<Class<?>> getClasses() {
+        return resolvedSuperTypes.keySet();
+    }
+
+    public boolean contains(Class<?> clazz) {
+        return resolvedSuperTypes.containsKey(clazz);
+    }
+
+    /**
+     * @param fromClass
+     * @return the super types of fromClass, from this snapshot when it holds fromClass
+     */
+    public ResolvedSuperTypes resolveSuperTypes(Class<?> fromClass) {
+        ResolvedSuperTypes snapshotSuperTypes = resolvedSuperTypes.get(fromClass);
+        if (snapshotSuperTypes == null) {
+            return GenericsUtils.resolveSuperTypes(fromClass);
+        }
+        return snapshotSuperTypes;
+    }
+
+    /**
+     * Same as {@link GenericsUtils#getGenericTypeFromClass(Class, Class, int)}, from this snapshot when it holds
+     * fromClass.
+     *
+     * @param fromClass
+     * @param baseClassWithGeneric
+     * @param genericPosition
+     * @return the generic type, or null if baseClassWithGeneric is not in the hierarchy of fromClass
+     */
+    public Type getGenericTypeFromClass(Class<?> fromClass, Class<?> baseClassWithGeneric, int genericPosition) {
+        ResolvedSuperTypes snapshotSuperTypes = resolvedSuperTypes.get(fromClass);
+        if (snapshotSuperTypes == null) {
+            return GenericsUtils.getGenericTypeFromClass(fromClass, baseClassWithGeneric, genericPosition);
+        }
+        return snapshotSuperTypes.getTypeArgument(baseClassWithGeneric, genericPosition);
+    }
+
+    /**
+     * Same as {@link GenericsUtils#getGenericClassFromClass(Class, Class, int)}, from this snapshot when it holds
+     * fromClass.
+     *
+     * @param fromClass
+     * @param baseClassWithGeneric
+     * @param genericPosition
+     * @return the generic class, or null if baseClassWithGeneric is not in the hierarchy of fromClass
+     */
+    public Class<?> getGenericClassFromClass(Class<?> fromClass, Class<?> baseClassWithGeneric, int genericPosition) {
+        ResolvedSuperTypes snapshotSuperTypes = resolvedSuperTypes.get(fromClass);
+        if (snapshotSuperTypes == null) {
+            return GenericsUtils.getGenericClassFromClass(fromClass, baseClassWithGeneric, genericPosition);
+        }
+        return GenericsUtils.getGenericClass(snapshotSuperTypes.getTypeArgument(baseClassWithGeneric, genericPosition));
+    }
+
+}
@@ -1,29 +1,68 @@
 package org.genericsutils;
 
 import lombok.SneakyThrows;
-import sun.reflect.generics.reflectiveObjects.ParameterizedTypeImpl;
 
 import java.lang.reflect.*;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * GenericsUtils provides tools for using Reflection with classes that contain generics.
  */
 public class GenericsUtils {
 
+    private static final ClassValue<Class<?>> ARRAY_CLASSES = new ClassValue<Class<?>>() {
+        @Override
+        protected Class<?> computeValue(Class<?> componentType) {
+            return Array.newInstance(componentType, 0).getClass();
+        }
+    };
+
+    private static final ClassValue<Map<String, Class<?>>> LOADED_CLASSES = new ClassValue<Map<String, Class<?>>>() {
+        @Override
+        protected Map<String, Class<?>> computeValue(Class<?> typeImplementation) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     /**
      * Find the generic class for any class that implements a specified class with generics.
      * Example: ClassA extends ClassB<String, Integer>, a call to getGenericClassFromClass(ClassA.class, ClassB.class, 1) will return Integer.class
+     * Classes marked with {@link GenerateGenericsTable} are answered from the tables generated at compile time.
      *
      * @param fromClass
      * @param baseClassWithGeneric
      * @param genericPosition
-     * @return
+     * @return the generic class, or null if baseClassWithGeneric is not in the hierarchy of fromClass
      */
     public static Class<?> getGenericClassFromClass(Class<?> fromClass, Class<?> baseClassWithGeneric, int genericPosition) {
-        Type type = getGenericTypeFromClass(fromClass, baseClassWithGeneric, genericPosition);
+        if (!GenericsMetrics.isEnabled()) {
+            return lookupGenericClass(fromClass, baseClassWithGeneric, genericPosition);
+        }
+        long startNanos = System.nanoTime();
+        try {
+            return lookupGenericClass(fromClass, baseClassWithGeneric, genericPosition);
+        } finally {
+            GenericsMetrics.recordLookup(GenericsMetrics.Operation.GET_GENERIC_CLASS_FROM_CLASS, fromClass, baseClassWithGeneric, startNanos);
+        }
+    }
+
+    private static Class<?> lookupGenericClass(Class<?> fromClass, Class<?> baseClassWithGeneric, int genericPosition) {
+        Class<?> generatedClass = GeneratedGenericsTables.getGenericClass(fromClass, baseClassWithGeneric, genericPosition);
+        if (generatedClass != null) {
+            return generatedClass;
+        }
+        return getGenericClass(lookupGenericType(fromClass, baseClassWithGeneric, genericPosition));
+    }
+
+    static Class<?> getGenericClass(Type type) {
+        if (type == null) {
+            return null;
+        }
         if (type instanceof ParameterizedType) {
             Type rawType = ((ParameterizedType) type).getRawType();
             if (!(rawType instanceof ParameterizedType)) {
@@ -36,39 +75,507 @@ public class GenericsUtils {
         }
     }
 
+    /**
+     * Find the generic class for any class that implements a specified class with generics and return a factory of its
+     * instances, built once per fromClass, baseClassWithGeneric and genericPosition. The factory calls the constructor
+     * without parameters of the generic class directly, through {@link java.lang.invoke.LambdaMetafactory} when the
+     * constructor is public and through a {@link java.lang.invoke.MethodHandle} otherwise.
+     * Example: ClassA extends ClassB<StringBuilder>, getGenericInstanceFactory(ClassA.class, ClassB.class, 0).get()
+     * returns a new StringBuilder
+     *
+     * @param fromClass
+     * @param baseClassWithGeneric
+     * @param genericPosition
+     * @return the factory, or null if baseClassWithGeneric is not in the hierarchy of fromClass
+     * @throws RuntimeException when the generic class cannot be instantiated or has no constructor without parameters
+     */
+    public static Supplier<?> getGenericInstanceFactory(Class<?> fromClass, Class<?> baseClassWithGeneric, int genericPosition) {
+        return GenericResolver.of(baseClassWithGeneric, genericPosition).getInstanceFactory(fromClass);
+    }
+
+    /**
+     * Find the generic class for a lambda or method reference that implements a specified class with generics.
+     * Only serializable lambdas carry their generics, for example those targeting a functional interface that extends
+     * Serializable or cast to (Function<String, Integer> & Serializable). The generics of other lambdas are
+     * left unresolved.
+     * Example: ISerializableFunction<String, Integer> length = String::length, a call to
+     * getGenericClassFromLambda(length, Function.class, 1) will return Integer.class
+     *
+     * @param lambda
+     * @param baseClassWithGeneric
+     * @param genericPosition
+     * @return the generic class, or null if baseClassWithGeneric is not in the hierarchy of lambda
+     */
+    public static Class<?> getGenericClassFromLambda(Object lambda, Class<?> baseClassWithGeneric, int genericPosition) {
+        return getGenericClass(getGenericTypeFromLambda(lambda, baseClassWithGeneric, genericPosition));
+    }
+
+    /**
+     * Same as getGenericClassFromLambda but returns the Type, with the generics of the implementation method where its
+     * signature has them, as it does for a method reference.
+     *
+     * @param lambda
+     * @param baseClassWithGeneric
+     * @param genericPosition
+     * @return the generic type, or null if baseClassWithGeneric is not in the hierarchy of lambda
+     */
+    public static Type getGenericTypeFromLambda(Object lambda, Class<?> baseClassWithGeneric, int genericPosition) {
+        return LambdaGenerics.resolveSuperTypes(lambda).getTypeArgument(baseClassWithGeneric, genericPosition);
+    }
+
+    /**
+     * Resolve the super types of a lambda or method reference, each with its generics, once per lambda class.
+     * Any other object is resolved the same as its class.
+     *
+     * @param lambda
+     * @return
+     */
+    public static ResolvedSuperTypes resolveLambdaSuperTypes(Object lambda) {
+        return LambdaGenerics.resolveSuperTypes(lambda);
+    }
+
     public static Type getGenericTypeFromClass(Class<?> fromClass, Class<?> baseClassWithGeneric, int genericPosition) {
-        return getGenericTypeFromClass((Type) fromClass, baseClassWithGeneric, genericPosition);
+        if (!GenericsMetrics.isEnabled()) {
+            return lookupGenericType(fromClass, baseClassWithGeneric, genericPosition);
+        }
+        long startNanos = System.nanoTime();
+        try {
+            return lookupGenericType(fromClass, baseClassWithGeneric, genericPosition);
+        } finally {
+            GenericsMetrics.recordLookup(GenericsMetrics.Operation.GET_GENERIC_TYPE_FROM_CLASS, fromClass, baseClassWithGeneric, startNanos);
+        }
+    }
+
+    private static Type lookupGenericType(Class<?> fromClass, Class<?> baseClassWithGeneric, int genericPosition) {
+        if (!mayHaveSuperType(fromClass, baseClassWithGeneric)) {
+            return null;
+        }
+        Type typeFoundInAllSuperTypes;
+        if (GenericsCache.isEnabled()) {
+            typeFoundInAllSuperTypes = GenericsCache.getSuperType(fromClass, baseClassWithGeneric);
+        } else {
+            typeFoundInAllSuperTypes = findSuperType(fromClass, baseClassWithGeneric);
+        }
+        return getGenericActualTypeArgument(typeFoundInAllSuperTypes, genericPosition);
     }
 
     public static Type getGenericTypeFromClass(Type fromType, Class<?> baseClassWithGeneric, int genericPosition) {
-        Collection<Type> fromTypeImplements = implementsInterfaces(fromType);
-        Collection<Type> fromTypeExtends = extendsClassesAndInterfaces(fromType);
-        Collection<Type> allSuperTypes = Stream.concat(fromTypeImplements.stream(), fromTypeExtends.stream()).collect(Collectors.toList());
-        Type typeFoundInAllSuperTypes = findClassIn(baseClassWithGeneric, allSuperTypes);
-        if (typeFoundInAllSuperTypes != null) {
-            if (typeFoundInAllSuperTypes instanceof ParameterizedType) {
-                ParameterizedType parameterizedType = (ParameterizedType) typeFoundInAllSuperTypes;
-                return getGenericActualTypeArgument(parameterizedType, genericPosition);
-            } else {
-                throw new RuntimeException("Placeholder until I can determine if this path is even possible.");
+        if (!GenericsMetrics.isEnabled()) {
+            return lookupGenericType(fromType, baseClassWithGeneric, genericPosition);
+        }
+        long startNanos = System.nanoTime();
+        try {
+            return lookupGenericType(fromType, baseClassWithGeneric, genericPosition);
+        } finally {
+            GenericsMetrics.recordLookup(GenericsMetrics.Operation.GET_GENERIC_TYPE_FROM_CLASS, fromType, baseClassWithGeneric, startNanos);
+        }
+    }
+
+    private static Type lookupGenericType(Type fromType, Class<?> baseClassWithGeneric, int genericPosition) {
+        if (fromType instanceof Class<?>) {
+            return lookupGenericType((Class<?>) fromType, baseClassWithGeneric, genericPosition);
+        }
+        if (!mayHaveSuperType(fromType, baseClassWithGeneric)) {
+            return null;
+        }
+        Type typeFoundInAllSuperTypes = findSuperType(fromType, baseClassWithGeneric);
+        return getGenericActualTypeArgument(typeFoundInAllSuperTypes, genericPosition);
+    }
+
+    /**
+     * Answer many queries against one class with a single resolution of its hierarchy.
+     * Example: ClassA extends ClassB<String, Integer>, a call to getGenericClassesFromClass(ClassA.class,
+     * GenericQuery.of(ClassB.class, 0), GenericQuery.of(ClassB.class, 1)) will return {String.class, Integer.class}
+     *
+     * @param fromClass
+     * @param queries
+     * @return the generic class of each query in the order of queries, null where the base class of the query is not
+     * in the hierarchy of fromClass
+     */
+    public static Class<?>[] getGenericClassesFromClass(Class<?> fromClass, GenericQuery... queries) {
+        return getGenericClassesFromClasses(Collections.singletonList(fromClass), queries);
+    }
+
+    /**
+     * Answer many queries against many classes, resolving the hierarchy of each class once for all queries.
+     *
+     * @param fromClasses
+     * @param queries
+     * @return a flat array holding the answer to query q for class i at i * queries.length + q
+     */
+    public static Class<?>[] getGenericClassesFromClasses(List<? extends Class<?>> fromClasses, GenericQuery... queries) {
+        if (!GenericsMetrics.isEnabled()) {
+            return lookupGenericClasses(fromClasses, queries);
+        }
+        long startNanos = System.nanoTime();
+        try {
+            return lookupGenericClasses(fromClasses, queries);
+        } finally {
+            GenericsMetrics.recordLookup(GenericsMetrics.Operation.GET_GENERIC_CLASSES_FROM_CLASSES, getSingleType(fromClasses), null, startNanos);
+        }
+    }
+
+    /**
+     * Answer many queries against many types, resolving the hierarchy of each type once for all queries.
+     *
+     * @param fromTypes
+     * @param queries
+     * @return a flat array holding the answer to query q for type i at i * queries.length + q
+     */
+    public static Type[] getGenericTypesFromTypes(List<? extends Type> fromTypes, GenericQuery... queries) {
+        if (!GenericsMetrics.isEnabled()) {
+            return lookupGenericTypes(fromTypes, queries);
+        }
+        long startNanos = System.nanoTime();
+        try {
+            return lookupGenericTypes(fromTypes, queries);
+        } finally {
+            GenericsMetrics.recordLookup(GenericsMetrics.Operation.GET_GENERIC_TYPES_FROM_TYPES, getSingleType(fromTypes), null, startNanos);
+        }
+    }
+
+    private static Class<?>[] lookupGenericClasses(List<? extends Class<?>> fromClasses, GenericQuery[] queries) {
+        Class<?>[] genericClasses = new Class<?>[fromClasses.size() * queries.length];
+        for (int i = 0; i <= fromClasses.size() - 1; i++) {
+            Class<?> fromClass = fromClasses.get(i);
+            ResolvedSuperTypes resolvedSuperTypes = null;
+            for (int q = 0; q <= queries.length - 1; q++) {
+                Class<?> baseClassWithGeneric = queries[q].getBaseClassWithGeneric();
+                int genericPosition = queries[q].getGenericPosition();
+                Class<?> generatedClass = GeneratedGenericsTables.getGenericClass(fromClass, baseClassWithGeneric, genericPosition);
+                if (generatedClass != null) {
+                    genericClasses[i * queries.length + q] = generatedClass;
+                } else if (mayHaveSuperType(fromClass, baseClassWithGeneric)) {
+                    if (resolvedSuperTypes == null) {
+                        resolvedSuperTypes = lookupSuperTypes(fromClass);
+                    }
+                    Type superType = resolvedSuperTypes.getSuperType(baseClassWithGeneric);
+                    genericClasses[i * queries.length + q] = getGenericClass(getGenericActualTypeArgument(superType, genericPosition));
+                }
             }
         }
-        for (Type superType : allSuperTypes) {
-            Type foundClass = getGenericTypeFromClass(superType, baseClassWithGeneric, genericPosition);
-            if (foundClass != null) {
-                return foundClass;
+        return genericClasses;
+    }
+
+    private static Type[] lookupGenericTypes(List<? extends Type> fromTypes, GenericQuery[] queries) {
+        Type[] genericTypes = new Type[fromTypes.size() * queries.length];
+        for (int i = 0; i <= fromTypes.size() - 1; i++) {
+            Type fromType = fromTypes.get(i);
+            ResolvedSuperTypes resolvedSuperTypes = null;
+            for (int q = 0; q <= queries.length - 1; q++) {
+                Class<?> baseClassWithGeneric = queries[q].getBaseClassWithGeneric();
+                if (mayHaveSuperType(fromType, baseClassWithGeneric)) {
+                    if (resolvedSuperTypes == null) {
+                        resolvedSuperTypes = lookupSuperTypes(fromType);
+                    }
+                    Type superType = resolvedSuperTypes.getSuperType(baseClassWithGeneric);
+                    genericTypes[i * queries.length + q] = getGenericActualTypeArgument(superType, queries[q].getGenericPosition());
+                }
             }
         }
+        return genericTypes;
+    }
+
+    private static Type getSingleType(List<? extends Type> types) {
+        return types.size() == 1 ? types.get(0) : null;
+    }
+
+    /**
+     * Rule out, without resolving any generics, a baseClassWithGeneric that is not a super type of fromType. The check
+     * uses the raw super types the JVM already records for every loaded class, so it takes constant time for super
+     * classes and a short scan of the flattened interfaces for interfaces.
+     *
+     * @param fromType
+     * @param baseClassWithGeneric
+     * @return false if baseClassWithGeneric is certainly not a super type of fromType
+     */
+    private static boolean mayHaveSuperType(Type fromType, Class<?> baseClassWithGeneric) {
+        Type rawType = fromType;
+        if (fromType instanceof ParameterizedType) {
+            rawType = ((ParameterizedType) fromType).getRawType();
+        }
+        if (rawType instanceof Class<?>) {
+            return rawType != baseClassWithGeneric && baseClassWithGeneric.isAssignableFrom((Class<?>) rawType);
+        }
+        return true;
+    }
+
+    /**
+     * Walk the hierarchy of fromType breadth first and return the reconstructed super type whose raw class is
+     * baseClassWithGeneric. Each distinct super type is expanded only once, so diamonds in the hierarchy are not walked
+     * again for every path that reaches them.
+     *
+     * @param fromType
+     * @param baseClassWithGeneric
+     * @return the matching super type with its generics resolved as far as possible, or null if baseClassWithGeneric is
+     * not in the hierarchy of fromType
+     */
+    static Type findSuperType(Type fromType, Class<?> baseClassWithGeneric) {
+        SuperTypeSpliterator superTypes = new SuperTypeSpliterator(fromType);
+        for (Type superType = superTypes.next(); superType != null; superType = superTypes.next()) {
+            if (classMatchesType(baseClassWithGeneric, superType)) {
+                superTypes.recordTraversal();
+                return superType;
+            }
+        }
+        superTypes.recordTraversal();
         return null;
     }
 
-    public static Type findClassIn(Class<?> clazz, Collection<Type> types) {
-        for (Type type : types) {
-            if (classMatchesType(clazz, type)) {
+    /**
+     * Lazily walk the hierarchy of fromType breadth first, in the same order as the lookups of this class, and stream
+     * each distinct super class and interface once, with its generics substituted from fromType. Each super type is
+     * only reconstructed when the stream pulls it, so a short circuiting operation such as findFirst or anyMatch stops
+     * the walk as soon as it is answered.
+     * Example: ClassA extends ClassB<String> implements IClassC<Long>, a call to
+     * streamSuperTypes(ClassA.class).filter(type -> type instanceof ParameterizedType).findFirst() returns ClassB<String>
+     * without reconstructing IClassC<Long> or anything above ClassB
+     *
+     * @param fromType
+     * @return a sequential, ordered stream of the super types of fromType, excluding Object
+     */
+    public static Stream<Type> streamSuperTypes(Type fromType) {
+        return StreamSupport.stream(new SuperTypeSpliterator(fromType), false);
+    }
+
+    /**
+     * Resolve every super class and interface of fromClass in a single walk of its hierarchy.
+     * Example: ClassA extends ClassB<String, Integer> implements IClassC<Long>, a call to resolveSuperTypes(ClassA.class)
+     * returns a table where ClassB.class maps to ClassB<String, Integer> and IClassC.class maps to IClassC<Long>
+     *
+     * @param fromClass
+     * @return
+     */
+    public static ResolvedSuperTypes resolveSuperTypes(Class<?> fromClass) {
+        if (!GenericsMetrics.isEnabled()) {
+            return lookupSuperTypes(fromClass);
+        }
+        long startNanos = System.nanoTime();
+        try {
+            return lookupSuperTypes(fromClass);
+        } finally {
+            GenericsMetrics.recordLookup(GenericsMetrics.Operation.RESOLVE_SUPER_TYPES, fromClass, null, startNanos);
+        }
+    }
+
+    private static ResolvedSuperTypes lookupSuperTypes(Class<?> fromClass) {
+        if (GenericsCache.isEnabled()) {
+            return GenericsCache.getResolvedSuperTypes(fromClass);
+        }
+        return findAllSuperTypes(fromClass);
+    }
+
+    public static ResolvedSuperTypes resolveSuperTypes(Type fromType) {
+        if (!GenericsMetrics.isEnabled()) {
+            return lookupSuperTypes(fromType);
+        }
+        long startNanos = System.nanoTime();
+        try {
+            return lookupSuperTypes(fromType);
+        } finally {
+            GenericsMetrics.recordLookup(GenericsMetrics.Operation.RESOLVE_SUPER_TYPES, fromType, null, startNanos);
+        }
+    }
+
+    private static ResolvedSuperTypes lookupSuperTypes(Type fromType) {
+        if (fromType instanceof Class<?>) {
+            return lookupSuperTypes((Class<?>) fromType);
+        }
+        return findAllSuperTypes(fromType);
+    }
+
+    /**
+     * Walk the whole hierarchy of fromType breadth first, keeping the first reconstructed super type found for each raw
+     * class, which is the same one {@link #findSuperType(Type, Class)} returns.
+     */
+    static ResolvedSuperTypes findAllSuperTypes(Type fromType) {
+        Map<Class<?>, Type> superTypesByRawClass = new HashMap<>();
+        SuperTypeSpliterator superTypes = new SuperTypeSpliterator(fromType);
+        for (Type superType = superTypes.next(); superType != null; superType = superTypes.next()) {
+            superTypesByRawClass.putIfAbsent(getClass(superType), superType);
+        }
+        superTypes.recordTraversal();
+        return new ResolvedSuperTypes(fromType, superTypesByRawClass);
+    }
+
+    /**
+     * Build the super types of fromClass from the cached super types of its direct super class and interfaces, so
+     * classes that share part of their hierarchy resolve that part only once. Gives the same table as
+     * {@link #findAllSuperTypes(Type)}.
+     */
+    static ResolvedSuperTypes composeAllSuperTypes(Class<?> fromClass) {
+        Map<Class<?>, Type> superTypesByRawClass = new LinkedHashMap<>();
+        List<Type> directSuperTypes = getSuperTypes(fromClass);
+        for (Type directSuperType : directSuperTypes) {
+            superTypesByRawClass.putIfAbsent(getClass(directSuperType), directSuperType);
+        }
+        for (Type directSuperType : directSuperTypes) {
+            Class<?> rawDirectSuperType = getClass(directSuperType);
+            Type[] actualTypeArguments = null;
+            if (directSuperType instanceof ParameterizedType) {
+                actualTypeArguments = getActualTypeArguments((ParameterizedType) directSuperType);
+            }
+            for (Map.Entry<Class<?>, Type> inheritedSuperType : GenericsCache.getResolvedSuperTypes(rawDirectSuperType).getSuperTypesByRawClass().entrySet()) {
+                if (!superTypesByRawClass.containsKey(inheritedSuperType.getKey())) {
+                    superTypesByRawClass.put(inheritedSuperType.getKey(), reconstructSuperType(inheritedSuperType.getValue(), rawDirectSuperType, actualTypeArguments));
+                }
+            }
+        }
+        GenericsMetrics.recordComposition(fromClass);
+        return new ResolvedSuperTypes(fromClass, superTypesByRawClass);
+    }
+
+    /**
+     * Resolve the field, return and parameter types of every member declared in the hierarchy of fromClass.
+     * Example: ClassA extends ClassB<String> where ClassB<T> declares T value, a call to resolveMembers(ClassA.class)
+     * returns a table where the field value maps to String.class
+     *
+     * @param fromClass
+     * @return
+     */
+    public static ResolvedMembers resolveMembers(Class<?> fromClass) {
+        if (!GenericsMetrics.isEnabled()) {
+            return lookupMembers(fromClass);
+        }
+        long startNanos = System.nanoTime();
+        try {
+            return lookupMembers(fromClass);
+        } finally {
+            GenericsMetrics.recordLookup(GenericsMetrics.Operation.RESOLVE_MEMBERS, fromClass, null, startNanos);
+        }
+    }
+
+    private static ResolvedMembers lookupMembers(Class<?> fromClass) {
+        if (GenericsCache.isEnabled()) {
+            return GenericsCache.getResolvedMembers(fromClass);
+        }
+        return findAllMembers(fromClass);
+    }
+
+    /**
+     * Substitute the generics of a type declared by a member somewhere in the hierarchy of fromClass, such as the
+     * generic type of a field or of a method parameter.
+     * Example: ClassA extends ClassB<String> where ClassB<T> declares List<T> values, a call to
+     * resolveMemberType(ClassA.class, valuesField.getGenericType()) returns List<String>
+     *
+     * @param fromClass
+     * @param memberType
+     * @return
+     */
+    public static Type resolveMemberType(Class<?> fromClass, Type memberType) {
+        if (!GenericsMetrics.isEnabled()) {
+            return substituteMemberType(memberType, fromClass, lookupSuperTypes(fromClass));
+        }
+        long startNanos = System.nanoTime();
+        try {
+            return substituteMemberType(memberType, fromClass, lookupSuperTypes(fromClass));
+        } finally {
+            GenericsMetrics.recordLookup(GenericsMetrics.Operation.RESOLVE_MEMBER_TYPE, fromClass, null, startNanos);
+        }
+    }
+
+
+    static ResolvedMembers findAllMembers(Class<?> fromClass) {
+        ResolvedSuperTypes resolvedSuperTypes = lookupSuperTypes(fromClass);
+        Map<Field, Type> fieldTypes = new LinkedHashMap<>();
+        Map<Method, Type> returnTypes = new LinkedHashMap<>();
+        Map<Method, Type[]> parameterTypes = new LinkedHashMap<>();
+        List<Class<?>> declaringClasses = new ArrayList<>();
+        declaringClasses.add(fromClass);
+        declaringClasses.addAll(resolvedSuperTypes.getRawSuperTypes());
+        for (Class<?> declaringClass : declaringClasses) {
+            if (!declaringClass.isInterface()) {
+                for (Field field : declaringClass.getDeclaredFields()) {
+                    fieldTypes.put(field, substituteMemberType(field.getGenericType(), fromClass, resolvedSuperTypes));
+                }
+            }
+            for (Method method : declaringClass.getDeclaredMethods()) {
+                returnTypes.put(method, substituteMemberType(method.getGenericReturnType(), fromClass, resolvedSuperTypes));
+                Type[] genericParameterTypes = method.getGenericParameterTypes();
+                for (int i = 0; i <= genericParameterTypes.length - 1; i++) {
+                    genericParameterTypes[i] = substituteMemberType(genericParameterTypes[i], fromClass, resolvedSuperTypes);
+                }
+                parameterTypes.put(method, genericParameterTypes);
+            }
+        }
+        return new ResolvedMembers(fromClass, fieldTypes, returnTypes, parameterTypes);
+    }
+
+    /**
+     * Replace every type variable declared by a super type of fromClass with its actual type argument as resolved in
+     * resolvedSuperTypes. Unlike the substitution of super types, wildcards and generic arrays are kept and substituted,
+     * and generic arrays whose component type becomes a class are turned into that array class.
+     */
+    private static Type substituteMemberType(Type type, Class<?> fromClass, ResolvedSuperTypes resolvedSuperTypes) {
+        if (type instanceof Class) {
+            return type;
+        } else if (type instanceof TypeVariable) {
+            TypeVariable<?> typeVariable = (TypeVariable<?>) type;
+            GenericDeclaration genericDeclaration = typeVariable.getGenericDeclaration();
+            if (genericDeclaration == fromClass || !(genericDeclaration instanceof Class<?>)) {
+                return typeVariable;
+            }
+            Type superType = resolvedSuperTypes.getSuperType((Class<?>) genericDeclaration);
+            if (!(superType instanceof ParameterizedType)) {
+                return typeVariable;
+            }
+            int genericPosition = ClassGenerics.of((Class<?>) genericDeclaration).indexOf(typeVariable);
+            return genericPosition < 0 ? typeVariable : getActualTypeArguments((ParameterizedType) superType)[genericPosition];
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type[] actualTypeArguments = getActualTypeArguments(parameterizedType);
+            Type[] newActualTypeArguments = substituteMemberTypes(actualTypeArguments, fromClass, resolvedSuperTypes);
+            if (newActualTypeArguments == actualTypeArguments) {
+                return type;
+            }
+            return ResolvedParameterizedType.makeWithoutCopy(getRawTypeClass(parameterizedType), newActualTypeArguments, parameterizedType.getOwnerType());
+        } else if (type instanceof GenericArrayType) {
+            Type genericComponentType = ((GenericArrayType) type).getGenericComponentType();
+            Type newGenericComponentType = substituteMemberType(genericComponentType, fromClass, resolvedSuperTypes);
+            if (newGenericComponentType instanceof Class<?>) {
+                return ARRAY_CLASSES.get((Class<?>) newGenericComponentType);
+            }
+            if (newGenericComponentType == genericComponentType) {
+                return type;
+            }
+            return new ResolvedGenericArrayType(newGenericComponentType);
+        } else if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            Type[] upperBounds = wildcardType.getUpperBounds();
+            Type[] lowerBounds = wildcardType.getLowerBounds();
+            Type[] newUpperBounds = substituteMemberTypes(upperBounds, fromClass, resolvedSuperTypes);
+            Type[] newLowerBounds = substituteMemberTypes(lowerBounds, fromClass, resolvedSuperTypes);
+            if (newUpperBounds == upperBounds && newLowerBounds == lowerBounds) {
                 return type;
             }
+            return new ResolvedWildcardType(newUpperBounds, newLowerBounds);
+        } else {
+            throw new RuntimeException("Unexpected type " + type.getTypeName());
         }
-        return null;
+    }
+
+    /**
+     * @return types itself when nothing was substituted, otherwise a new array
+     */
+    private static Type[] substituteMemberTypes(Type[] types, Class<?> fromClass, ResolvedSuperTypes resolvedSuperTypes) {
+        Type[] newTypes = types;
+        for (int i = 0; i <= types.length - 1; i++) {
+            Type newType = substituteMemberType(types[i], fromClass, resolvedSuperTypes);
+            if (newType != types[i]) {
+                if (newTypes == types) {
+                    newTypes = types.clone();
+                }
+                newTypes[i] = newType;
+            }
+        }
+        return newTypes;
+    }
+
+    public static Type findClassIn(Class<?> clazz, Collection<Type> types) {
+        return types.stream()
+                .filter(type -> classMatchesType(clazz, type))
+                .findFirst()
+                .orElse(null);
     }
 
     private static boolean classMatchesType(Class<?> clazz, Type type) {
@@ -85,6 +592,139 @@ public class GenericsUtils {
         return false;
     }
 
+    /**
+     * Whether a value of fromType can be assigned to toType without a cast or an unchecked conversion, following the
+     * generic subtyping rules of Java: the super type of fromType with the raw class of toType must have type arguments
+     * that toType contains, where a wildcard contains every type within its bounds and any other type argument only
+     * itself. Type variables and wildcards are assignable through their bounds.
+     * Example: Class2StringExtended extends Class2String extends AbstractClass2<String> implements IClass2<String>,
+     * isAssignable(Class2StringExtended.class, IClass2<String>) and isAssignable(Class2StringExtended.class,
+     * IClass2<? extends CharSequence>) are true, isAssignable(Class2StringExtended.class, IClass2<Object>) is false.
+     * Results are cached per pair of canonical types while {@link GenericsCache} is enabled.
+     *
+     * @param fromType
+     * @param toType
+     * @return
+     */
+    public static boolean isAssignable(Type fromType, Type toType) {
+        if (!GenericsMetrics.isEnabled()) {
+            return lookupAssignable(fromType, toType);
+        }
+        long startNanos = System.nanoTime();
+        try {
+            return lookupAssignable(fromType, toType);
+        } finally {
+            GenericsMetrics.recordLookup(GenericsMetrics.Operation.IS_ASSIGNABLE, fromType, getClass(toType), startNanos);
+        }
+    }
+
+    private static boolean lookupAssignable(Type fromType, Type toType) {
+        Type canonicalFromType = ResolvedParameterizedType.canonicalize(fromType);
+        Type canonicalToType = ResolvedParameterizedType.canonicalize(toType);
+        if (GenericsCache.isEnabled()) {
+            return GenericsCache.isAssignable(canonicalFromType, canonicalToType);
+        }
+        return checkAssignable(canonicalFromType, canonicalToType);
+    }
+
+    static boolean checkAssignable(Type fromType, Type toType) {
+        if (fromType.equals(toType)) {
+            return true;
+        }
+        if (fromType instanceof TypeVariable<?>) {
+            return anyAssignable(((TypeVariable<?>) fromType).getBounds(), toType);
+        }
+        if (fromType instanceof WildcardType) {
+            return anyAssignable(((WildcardType) fromType).getUpperBounds(), toType);
+        }
+        if (toType instanceof Class<?>) {
+            return ((Class<?>) toType).isAssignableFrom(getClass(fromType));
+        }
+        if (toType instanceof ParameterizedType) {
+            return checkAssignable(fromType, (ParameterizedType) toType);
+        }
+        if (toType instanceof GenericArrayType) {
+            Type fromComponentType;
+            if (fromType instanceof GenericArrayType) {
+                fromComponentType = ((GenericArrayType) fromType).getGenericComponentType();
+            } else if (fromType instanceof Class<?> && ((Class<?>) fromType).isArray() && !((Class<?>) fromType).getComponentType().isPrimitive()) {
+                fromComponentType = ((Class<?>) fromType).getComponentType();
+            } else {
+                return false;
+            }
+            return checkAssignable(fromComponentType, ((GenericArrayType) toType).getGenericComponentType());
+        }
+        if (toType instanceof WildcardType) {
+            return containsTypeArgument(toType, fromType);
+        }
+        return false;
+    }
+
+    private static boolean checkAssignable(Type fromType, ParameterizedType toType) {
+        Class<?> rawToType = getRawTypeClass(toType);
+        Class<?> rawFromType = getClass(fromType);
+        if (!rawToType.isAssignableFrom(rawFromType)) {
+            return false;
+        }
+        Type superType = rawFromType == rawToType ? fromType : lookupSuperTypes(fromType).getSuperType(rawToType);
+        Type[] toTypeArguments = getActualTypeArguments(toType);
+        if (!(superType instanceof ParameterizedType)) {
+            // A raw super type only converts without a warning to a type whose arguments are all unbounded wildcards
+            for (Type toTypeArgument : toTypeArguments) {
+                if (!(toTypeArgument instanceof WildcardType) || !containsTypeArgument(toTypeArgument, Object.class)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        Type[] fromTypeArguments = getActualTypeArguments((ParameterizedType) superType);
+        for (int i = 0; i <= toTypeArguments.length - 1; i++) {
+            if (!containsTypeArgument(toTypeArguments[i], fromTypeArguments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean anyAssignable(Type[] fromTypes, Type toType) {
+        for (Type fromType : fromTypes) {
+            if (checkAssignable(fromType, toType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether toTypeArgument contains fromTypeArgument: a wildcard contains types, and wildcards, within its bounds,
+     * any other type argument only contains itself.
+     */
+    private static boolean containsTypeArgument(Type toTypeArgument, Type fromTypeArgument) {
+        if (!(toTypeArgument instanceof WildcardType)) {
+            return toTypeArgument.equals(fromTypeArgument);
+        }
+        WildcardType toWildcardType = (WildcardType) toTypeArgument;
+        for (Type lowerBound : toWildcardType.getLowerBounds()) {
+            Type fromLowerBound = fromTypeArgument;
+            if (fromTypeArgument instanceof WildcardType) {
+                Type[] fromLowerBounds = ((WildcardType) fromTypeArgument).getLowerBounds();
+                if (fromLowerBounds.length == 0) {
+                    return false;
+                }
+                fromLowerBound = fromLowerBounds[0];
+            }
+            if (!checkAssignable(lowerBound, fromLowerBound)) {
+                return false;
+            }
+        }
+        for (Type upperBound : toWildcardType.getUpperBounds()) {
+            if (!checkAssignable(fromTypeArgument, upperBound)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static boolean isInterfaceClass(Class<?> clazz) {
         return clazz.isInterface();
     }
@@ -156,76 +796,128 @@ public class GenericsUtils {
     }
 
     private static Collection<Type> getImplementsAndExtends(ParameterizedType parameterizedType) {
-        Type rawType = parameterizedType.getRawType();
-        if (!(rawType instanceof Class<?>)) {
-            throw new RuntimeException("Unexpected RawType = " + rawType.getTypeName());
-        }
-        Class<?> rawTypeClass = (Class<?>) rawType;
-
-        Map<String, Type> mapOfNamesAndTypes = extractGenericTypeVariableNameAndValueMap(parameterizedType);
+        Class<?> rawTypeClass = getRawTypeClass(parameterizedType);
+        Type[] actualTypeArguments = getActualTypeArguments(parameterizedType);
 
-        Type[] genericInterfaces = rawTypeClass.getGenericInterfaces();
+        Type[] genericInterfaces = ClassGenerics.of(rawTypeClass).getGenericInterfaces();
         if (genericInterfaces.length == 0) {
             Class<?> superclass = rawTypeClass.getSuperclass();
             return Collections.singleton(superclass);
         }
         Type[] reconstructedGenericInterfaces = new Type[genericInterfaces.length];
         for (int i = 0; i <= genericInterfaces.length - 1; i++) {
-            Type genericInterface = genericInterfaces[i];
-            assert genericInterface instanceof ParameterizedType;
-            ParameterizedType genericInterfaceParameterizedType = (ParameterizedType) genericInterface;
-            ParameterizedType reconstructedGenericInterface = constructGenericInterface(genericInterfaceParameterizedType, mapOfNamesAndTypes);
-            reconstructedGenericInterfaces[i] = reconstructedGenericInterface;
+            reconstructedGenericInterfaces[i] = substituteTypeVariables(genericInterfaces[i], rawTypeClass, actualTypeArguments);
         }
 
         return Arrays.asList(reconstructedGenericInterfaces);
     }
 
-    private static Map<String, Type> extractGenericTypeVariableNameAndValueMap(ParameterizedType parameterizedType) {
+    /**
+     * The direct super class and interfaces of a type, each listed once. When the type is a ParameterizedType the
+     * generics of the super types are reconstructed from its actual type arguments.
+     */
+    private static List<Type> getSuperTypes(Type type) {
+        Class<?> rawTypeClass;
+        Type[] actualTypeArguments = null;
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            rawTypeClass = getRawTypeClass(parameterizedType);
+            actualTypeArguments = getActualTypeArguments(parameterizedType);
+        } else {
+            rawTypeClass = getClass(type);
+        }
+        ClassGenerics classGenerics = ClassGenerics.of(rawTypeClass);
+        Type genericSuperclass = classGenerics.getGenericSuperclass();
+        Type[] genericInterfaces = classGenerics.getGenericInterfaces();
+        List<Type> superTypes = new ArrayList<>(genericInterfaces.length + 1);
+        if (genericSuperclass != null && genericSuperclass != Object.class) {
+            superTypes.add(reconstructSuperType(genericSuperclass, rawTypeClass, actualTypeArguments));
+        }
+        for (Type genericInterface : genericInterfaces) {
+            superTypes.add(reconstructSuperType(genericInterface, rawTypeClass, actualTypeArguments));
+        }
+        return superTypes;
+    }
+
+    private static Type reconstructSuperType(Type superType, Class<?> rawTypeClass, Type[] actualTypeArguments) {
+        if (actualTypeArguments != null) {
+            return substituteTypeVariables(superType, rawTypeClass, actualTypeArguments);
+        }
+        return superType;
+    }
+
+    private static Class<?> getRawTypeClass(ParameterizedType parameterizedType) {
         Type rawType = parameterizedType.getRawType();
         if (!(rawType instanceof Class<?>)) {
             throw new RuntimeException("Unexpected RawType = " + rawType.getTypeName());
         }
-        Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
-        Class<?> rawTypeClass = (Class<?>) rawType;
-        Type[] typeParameters = rawTypeClass.getTypeParameters();
+        return (Class<?>) rawType;
+    }
+
+    /**
+     * The actual type arguments of parameterizedType, checked against the type parameters of its raw class. The array
+     * is shared rather than copied when the type is a {@link ResolvedParameterizedType}, so it must not be modified.
+     */
+    private static Type[] getActualTypeArguments(ParameterizedType parameterizedType) {
+        Type[] actualTypeArguments;
+        if (parameterizedType instanceof ResolvedParameterizedType) {
+            actualTypeArguments = ((ResolvedParameterizedType) parameterizedType).actualTypeArguments();
+        } else {
+            actualTypeArguments = parameterizedType.getActualTypeArguments();
+        }
+        TypeVariable<?>[] typeParameters = ClassGenerics.of(getRawTypeClass(parameterizedType)).getTypeParameters();
         if (actualTypeArguments.length != typeParameters.length) {
             throw new RuntimeException("Number of generic TypeParameters do not match.");
         }
-        Map<String, Type> mapOfNamesAndTypes = new HashMap<>();
-        for (int i = 0; i <= actualTypeArguments.length - 1; i++) {
-            String typeVariableName = typeParameters[i].getTypeName();
-            mapOfNamesAndTypes.put(typeVariableName, actualTypeArguments[i]);
-        }
+        return actualTypeArguments;
+    }
 
-        return mapOfNamesAndTypes;
+    /**
+     * Replace the type variables declared by declaringClass with the actual type argument at the same position.
+     * Type variables declared elsewhere are left as they are, and a type with nothing to replace is returned as is
+     * rather than rebuilt.
+     *
+     * @param type
+     * @param declaringClass
+     * @param actualTypeArguments
+     * @return
+     */
+    private static Type substituteTypeVariables(Type type, Class<?> declaringClass, Type[] actualTypeArguments) {
+        if (type instanceof Class) {
+            return type;
+        } else if (type instanceof ParameterizedType) {
+            return constructGenericInterface((ParameterizedType) type, declaringClass, actualTypeArguments);
+        } else if (type instanceof TypeVariable) {
+            TypeVariable<?> typeVariable = (TypeVariable<?>) type;
+            if (typeVariable.getGenericDeclaration() != declaringClass) {
+                return typeVariable;
+            }
+            int genericPosition = ClassGenerics.of(declaringClass).indexOf(typeVariable);
+            return genericPosition < 0 ? typeVariable : actualTypeArguments[genericPosition];
+        } else if (type instanceof WildcardType) {
+            return WildcardType.class;
+        } else {
+            throw new RuntimeException("Unexpected type of ActualTypeArgument " + type.getTypeName());
+        }
     }
 
-    private static ParameterizedType constructGenericInterface(ParameterizedType genericInterface, Map<String, Type> mapOfNamesAndTypes) {
-        Type[] actualTypeArguments = genericInterface.getActualTypeArguments();
-        Type[] newActualTypeArguments = new Type[actualTypeArguments.length];
+    private static ParameterizedType constructGenericInterface(ParameterizedType genericInterface, Class<?> declaringClass, Type[] actualTypeArgumentsOfDeclaringClass) {
+        Type[] actualTypeArguments = getActualTypeArguments(genericInterface);
+        Type[] newActualTypeArguments = null;
         for (int i = 0; i <= actualTypeArguments.length - 1; i++) {
             Type actualTypeArgument = actualTypeArguments[i];
-            Type newActualTypeArgument = null;
-            if (actualTypeArgument instanceof ParameterizedType) {
-                // TODO This is a recursive reconstruction of the generic types, need to build more tests to see if the
-                //  map of name and types needs to be reconstructed at each hop
-                ParameterizedType parameterizedType = (ParameterizedType) actualTypeArgument;
-                newActualTypeArgument = constructGenericInterface(parameterizedType, mapOfNamesAndTypes);
-            } else if (actualTypeArgument instanceof TypeVariable) {
-                TypeVariable<?> typeVariable = (TypeVariable<?>) actualTypeArgument;
-                newActualTypeArgument = mapOfNamesAndTypes.get(typeVariable.getName());
-            } else if (actualTypeArgument instanceof WildcardType) {
-                newActualTypeArgument = WildcardType.class;
-            } else if (actualTypeArgument instanceof Class) {
-                newActualTypeArgument = actualTypeArgument;
-            } else {
-                throw new RuntimeException("Unexpected type of ActualTypeArgument " + actualTypeArgument.getTypeName());
+            Type newActualTypeArgument = substituteTypeVariables(actualTypeArgument, declaringClass, actualTypeArgumentsOfDeclaringClass);
+            if (newActualTypeArgument != actualTypeArgument) {
+                if (newActualTypeArguments == null) {
+                    newActualTypeArguments = actualTypeArguments.clone();
+                }
+                newActualTypeArguments[i] = newActualTypeArgument;
             }
-            newActualTypeArguments[i] = newActualTypeArgument;
         }
-        ParameterizedType respone = ParameterizedTypeImpl.make((Class<?>) genericInterface.getRawType(), newActualTypeArguments, genericInterface.getOwnerType());
-        return respone;
+        if (newActualTypeArguments == null) {
+            return genericInterface;
+        }
+        return ResolvedParameterizedType.makeWithoutCopy(getRawTypeClass(genericInterface), newActualTypeArguments, genericInterface.getOwnerType());
     }
 
     private static Object getGenericActualTypeArgument(ParameterizedType parameterizedType, String typeVariableName) {
@@ -234,10 +926,22 @@ public class GenericsUtils {
         return actualTypeArguments[genericPosition];
     }
 
+    private static Type getGenericActualTypeArgument(Type typeFoundInAllSuperTypes, int genericPosition) {
+        if (typeFoundInAllSuperTypes == null) {
+            return null;
+        }
+        if (typeFoundInAllSuperTypes instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) typeFoundInAllSuperTypes;
+            return getGenericActualTypeArgument(parameterizedType, genericPosition);
+        } else {
+            throw new RuntimeException("Placeholder until I can determine if this path is even possible.");
+        }
+    }
+
     private static Type getGenericActualTypeArgument(ParameterizedType parameterizedType, int genericPosition) {
-        Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
+        Type[] actualTypeArguments = getActualTypeArguments(parameterizedType);
         if (genericPosition > actualTypeArguments.length - 1) {
-            throw new RuntimeException("Generic Position " + genericPosition + " exceeds the number of generics in " + actualTypeArguments);
+            throw new RuntimeException("Generic Position " + genericPosition + " exceeds the number of generics in " + parameterizedType.getTypeName());
         }
         return actualTypeArguments[genericPosition];
     }
@@ -262,13 +966,154 @@ public class GenericsUtils {
         throw new RuntimeException("TypeVariable name" + typeVariableName + " not found in Type " + parameterizedType.getTypeName());
     }
 
-    @SneakyThrows
+    static Class<?> getRawClass(Type type) {
+        return getClass(type);
+    }
+
+    /**
+     * The erasure of a type, worked out from the structure of the type alone: the raw type of a ParameterizedType, the
+     * array class of the erased component of a GenericArrayType, and the erasure of the first bound of a TypeVariable
+     * and of the first upper bound of a WildcardType. Only types of any other kind are loaded by name.
+     */
     private static Class<?> getClass(Type type) {
         if (type instanceof Class) {
             return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return getClass(((ParameterizedType) type).getRawType());
+        } else if (type instanceof GenericArrayType) {
+            return ARRAY_CLASSES.get(getClass(((GenericArrayType) type).getGenericComponentType()));
+        } else if (type instanceof TypeVariable<?>) {
+            return getClass(((TypeVariable<?>) type).getBounds()[0]);
+        } else if (type instanceof WildcardType) {
+            return getClass(((WildcardType) type).getUpperBounds()[0]);
         } else {
-            return Class.forName(type.getTypeName());
+            return loadClass(type);
+        }
+    }
+
+    /**
+     * Load a type of an unknown kind by its name, through the class loader of the class implementing it. Loaded classes
+     * are cached per implementing class, and so per class loader.
+     */
+    @SneakyThrows
+    private static Class<?> loadClass(Type type) {
+        Map<String, Class<?>> loadedClasses = LOADED_CLASSES.get(type.getClass());
+        Class<?> loadedClass = loadedClasses.get(type.getTypeName());
+        if (loadedClass == null) {
+            loadedClass = Class.forName(type.getTypeName(), false, type.getClass().getClassLoader());
+            loadedClasses.put(type.getTypeName(), loadedClass);
+        }
+        return loadedClass;
+    }
+
+    /**
+     * A breadth first walk of the super types of a type that reconstructs one super type per step. Each type taken from
+     * the queue only has its raw super class and interfaces looked up, and they are substituted one at a time as the
+     * walk advances.
+     */
+    private static final class SuperTypeSpliterator extends Spliterators.AbstractSpliterator<Type> {
+
+        private static final Type[] NO_TYPES = new Type[0];
+
+        private final Type fromType;
+
+        private final Set<Type> visitedTypes = new HashSet<>();
+
+        private final Deque<Type> typesToVisit = new ArrayDeque<>();
+
+        private Class<?> rawTypeClass;
+
+        private Type[] actualTypeArguments;
+
+        private Type genericSuperclass;
+
+        private Type[] genericInterfaces = NO_TYPES;
+
+        private int interfaceIndex;
+
+        private int nodesVisited;
+
+        private int depth = -1;
+
+        private int remainingInLevel;
+
+        private int nextLevelSize = 1;
+
+        private int maxDepth;
+
+        SuperTypeSpliterator(Type fromType) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+            this.fromType = fromType;
+            typesToVisit.add(fromType);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Type> action) {
+            Type superType = next();
+            if (superType == null) {
+                return false;
+            }
+            action.accept(superType);
+            return true;
+        }
+
+        /**
+         * @return the next super type not walked before, or null once the whole hierarchy has been walked
+         */
+        Type next() {
+            while (true) {
+                Type superType;
+                if (genericSuperclass != null) {
+                    superType = genericSuperclass;
+                    genericSuperclass = null;
+                } else if (interfaceIndex <= genericInterfaces.length - 1) {
+                    superType = genericInterfaces[interfaceIndex++];
+                } else if (visitNextType()) {
+                    continue;
+                } else {
+                    return null;
+                }
+                Type reconstructedSuperType = reconstructSuperType(superType, rawTypeClass, actualTypeArguments);
+                if (visitedTypes.add(reconstructedSuperType)) {
+                    typesToVisit.add(reconstructedSuperType);
+                    nextLevelSize++;
+                    maxDepth = depth + 1;
+                    return reconstructedSuperType;
+                }
+            }
+        }
+
+        private boolean visitNextType() {
+            Type type = typesToVisit.poll();
+            if (type == null) {
+                return false;
+            }
+            if (remainingInLevel == 0) {
+                depth++;
+                remainingInLevel = nextLevelSize;
+                nextLevelSize = 0;
+            }
+            remainingInLevel--;
+            nodesVisited++;
+            if (type instanceof ParameterizedType) {
+                ParameterizedType parameterizedType = (ParameterizedType) type;
+                rawTypeClass = getRawTypeClass(parameterizedType);
+                actualTypeArguments = getActualTypeArguments(parameterizedType);
+            } else {
+                rawTypeClass = GenericsUtils.getClass(type);
+                actualTypeArguments = null;
+            }
+            ClassGenerics classGenerics = ClassGenerics.of(rawTypeClass);
+            genericSuperclass = classGenerics.getGenericSuperclass() == Object.class ? null : classGenerics.getGenericSuperclass();
+            genericInterfaces = classGenerics.getGenericInterfaces();
+            interfaceIndex = 0;
+            return true;
         }
+
+        void recordTraversal() {
+            GenericsMetrics.recordTraversal(fromType, nodesVisited, maxDepth);
+        }
+
     }
 
 }
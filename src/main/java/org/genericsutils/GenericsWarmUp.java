@@ -0,0 +1,71 @@
+package org.genericsutils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * GenericsWarmUp resolves the generic super types of many classes up front, in parallel, so a service pays for the
+ * reflection before it takes traffic rather than on its first requests. Warming up fills {@link GenericsCache} and
+ * returns a {@link GenericsSnapshot} of everything it resolved, the given classes as well as their super classes and
+ * interfaces, for lookups that stay lock free for the rest of the process.
+ * Example: GenericsSnapshot snapshot = GenericsWarmUp.warmUpPackage("com.example.handlers", classLoader) at startup,
+ * then snapshot.getGenericClassFromClass(handlerClass, Handler.class, 0) for each request.
+ * Classes whose generic signatures cannot be resolved, for example because a class they name is missing, are skipped.
+ */
+public final class GenericsWarmUp {
+
+    private GenericsWarmUp() {
+    }
+
+    /**
+     * @param classes
+     * @return a snapshot of the super types of classes and of each of their super classes and interfaces
+     */
+    public static GenericsSnapshot warmUp(Collection<? extends Class<?>> classes) {
+        Map<Class<?>, ResolvedSuperTypes> resolvedSuperTypes = new ConcurrentHashMap<>();
+        classes.parallelStream().forEach(clazz -> resolve(clazz, resolvedSuperTypes));
+        return new GenericsSnapshot(resolvedSuperTypes);
+    }
+
+    /**
+     * Same as {@link #warmUp(Collection)}, resolving on the given pool.
+     *
+     * @param classes
+     * @param pool
+     * @return
+     */
+    public static GenericsSnapshot warmUp(Collection<? extends Class<?>> classes, ForkJoinPool pool) {
+        return pool.submit(() -> warmUp(classes)).join();
+    }
+
+    /**
+     * Warm up every class of a package, including its sub packages, as found by classLoader in directories and jars.
+     * Classes are loaded without being initialized, and classes that cannot be loaded are skipped.
+     *
+     * @param packageName
+     * @param classLoader
+     * @return
+     */
+    public static GenericsSnapshot warmUpPackage(String packageName, ClassLoader classLoader) {
+        return warmUp(BulkGenericsResolver.loadPackageClasses(packageName, classLoader));
+    }
+
+    private static void resolve(Class<?> clazz, Map<Class<?>, ResolvedSuperTypes> resolvedSuperTypes) {
+        if (resolvedSuperTypes.containsKey(clazz)) {
+            return;
+        }
+        ResolvedSuperTypes superTypes;
+        try {
+            superTypes = GenericsUtils.resolveSuperTypes(clazz);
+        } catch (RuntimeException | LinkageError e) {
+            return;
+        }
+        resolvedSuperTypes.put(clazz, superTypes);
+        for (Class<?> rawSuperType : superTypes.getRawSuperTypes()) {
+            resolve(rawSuperType, resolvedSuperTypes);
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package org.genericsutils;
+
+import lombok.SneakyThrows;
+
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+
+/**
+ * InstanceFactories makes one Supplier per class that calls its constructor without parameters. Where the library can
+ * link to the constructor directly the Supplier is spun by {@link LambdaMetafactory}, so calling it costs the same as
+ * new; otherwise, for constructors that are not accessible from this package or classes from a class loader this
+ * library cannot see, it invokes a {@link MethodHandle} to the constructor.
+ */
+final class InstanceFactories {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class);
+
+    private static final MethodType SUPPLIER_FACTORY_TYPE = MethodType.methodType(Supplier.class);
+
+    private static final MethodType GET_TYPE = MethodType.methodType(Object.class);
+
+    private static final ClassValue<Supplier<?>> FACTORIES = new ClassValue<Supplier<?>>() {
+        @Override
+        protected Supplier<?> computeValue(Class<?> type) {
+            return createFactory(type);
+        }
+    };
+
+    private InstanceFactories() {
+    }
+
+    /**
+     * @param clazz
+     * @return a Supplier of new instances of clazz, the same instance on every call
+     * @throws RuntimeException when clazz cannot be instantiated or has no constructor without parameters
+     */
+    static Supplier<?> of(Class<?> clazz) {
+        return FACTORIES.get(clazz);
+    }
+
+    private static Supplier<?> createFactory(Class<?> clazz) {
+        if (clazz.isInterface() || clazz.isArray() || clazz.isPrimitive() || Modifier.isAbstract(clazz.getModifiers())) {
+            throw new RuntimeException(clazz.getTypeName() + " cannot be instantiated");
+        }
+        Constructor<?> constructor;
+        try {
+            constructor = clazz.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException("No constructor without parameters in " + clazz.getTypeName());
+        }
+        MethodHandle constructorHandle;
+        try {
+            constructorHandle = LOOKUP.findConstructor(clazz, CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            constructorHandle = unreflectConstructor(constructor);
+        }
+        if (isVisible(clazz) && Modifier.isPublic(constructor.getModifiers())) {
+            Supplier<?> spunFactory = spinFactory(clazz, constructorHandle);
+            if (spunFactory != null) {
+                return spunFactory;
+            }
+        }
+        return new MethodHandleFactory(constructorHandle.asType(GET_TYPE));
+    }
+
+    private static MethodHandle unreflectConstructor(Constructor<?> constructor) {
+        try {
+            constructor.setAccessible(true);
+            return LOOKUP.unreflectConstructor(constructor);
+        } catch (RuntimeException | IllegalAccessException e) {
+            throw new RuntimeException("Constructor of " + constructor.getDeclaringClass().getTypeName() + " is not accessible", e);
+        }
+    }
+
+    /**
+     * The class spun by LambdaMetafactory is defined by the class loader of this library, so it can only link to
+     * classes that loader sees.
+     */
+    private static boolean isVisible(Class<?> clazz) {
+        try {
+            return Class.forName(clazz.getName(), false, InstanceFactories.class.getClassLoader()) == clazz;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    @SneakyThrows
+    private static Supplier<?> spinFactory(Class<?> clazz, MethodHandle constructorHandle) {
+        try {
+            return (Supplier<?>) LambdaMetafactory.metafactory(LOOKUP, "get", SUPPLIER_FACTORY_TYPE, GET_TYPE, constructorHandle, MethodType.methodType(clazz))
+                    .getTarget()
+                    .invoke();
+        } catch (LambdaConversionException e) {
+            return null;
+        }
+    }
+
+    private static final class MethodHandleFactory implements Supplier<Object> {
+
+        private final MethodHandle constructorHandle;
+
+        MethodHandleFactory(MethodHandle constructorHandle) {
+            this.constructorHandle = constructorHandle;
+        }
+
+        @Override
+        @SneakyThrows
+        public Object get() {
+            return constructorHandle.invokeExact();
+        }
+
+    }
+
+}
@@ -0,0 +1,97 @@
+package org.genericsutils;
+
+import jdk.jfr.*;
+
+import java.lang.reflect.Type;
+
+/**
+ * JfrGenericsMetricsListener records the lookups, cache misses and hierarchy walks of {@link GenericsUtils} as JFR
+ * events, so they show up in flight recordings next to the rest of the application. Install it with
+ * GenericsMetrics.setListener(new JfrGenericsMetricsListener()) and GenericsMetrics.setEnabled(true).
+ * Needs a Java runtime with the jdk.jfr module. Nothing refers to this class unless it is installed, so runtimes
+ * without JFR are unaffected.
+ */
+public final class JfrGenericsMetricsListener implements GenericsMetricsListener {
+
+    @Override
+    public void lookupCompleted(GenericsMetrics.Operation operation, Type fromType, Class<?> baseClassWithGeneric, long durationNanos) {
+        LookupEvent event = new LookupEvent();
+        if (event.shouldCommit()) {
+            event.operation = operation.name();
+            event.fromType = fromType == null ? null : fromType.getTypeName();
+            event.baseClassWithGeneric = baseClassWithGeneric;
+            event.lookupDuration = durationNanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void cacheMiss(Class<?> fromClass) {
+        CacheMissEvent event = new CacheMissEvent();
+        if (event.shouldCommit()) {
+            event.fromClass = fromClass;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void traversalCompleted(Type fromType, int nodesVisited, int depth) {
+        TraversalEvent event = new TraversalEvent();
+        if (event.shouldCommit()) {
+            event.fromType = fromType.getTypeName();
+            event.nodesVisited = nodesVisited;
+            event.depth = depth;
+            event.commit();
+        }
+    }
+
+    @Name("org.genericsutils.Lookup")
+    @Label("Generics Lookup")
+    @Category("Generics Utils")
+    @StackTrace(false)
+    static final class LookupEvent extends Event {
+
+        @Label("Operation")
+        String operation;
+
+        @Label("From Type")
+        String fromType;
+
+        @Label("Base Class With Generic")
+        Class<?> baseClassWithGeneric;
+
+        @Label("Lookup Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long lookupDuration;
+
+    }
+
+    @Name("org.genericsutils.CacheMiss")
+    @Label("Generics Cache Miss")
+    @Category("Generics Utils")
+    @StackTrace(false)
+    static final class CacheMissEvent extends Event {
+
+        @Label("From Class")
+        Class<?> fromClass;
+
+    }
+
+    @Name("org.genericsutils.Traversal")
+    @Label("Generics Hierarchy Traversal")
+    @Category("Generics Utils")
+    @StackTrace(false)
+    static final class TraversalEvent extends Event {
+
+        @Label("From Type")
+        String fromType;
+
+        @Label("Nodes Visited")
+        int nodesVisited;
+
+        @Label("Depth")
+        int depth;
+
+    }
+
+}
@@ -0,0 +1,302 @@
+package org.genericsutils;
+
+import java.lang.invoke.MethodHandleInfo;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.SerializedLambda;
+import java.lang.reflect.*;
+import java.util.*;
+
+/**
+ * LambdaGenerics resolves the super types of lambdas and method references. Their classes are generated at runtime and
+ * implement the raw functional interface, so reflection on the class alone cannot tell the type arguments. A
+ * serializable lambda describes itself through the {@link SerializedLambda} returned by its writeReplace method, which
+ * names the method it calls and the erased types it was instantiated with. The type arguments of the functional
+ * interface are bound by matching the generic parameter and return types of its abstract method against the generic
+ * signature of the implementation method, or against the instantiated types where that signature is erased, as it is
+ * for the body of a lambda expression.
+ * The result is computed from the first instance seen of each lambda class and then kept with the class, so later
+ * lookups skip writeReplace. It is kept independently of {@link GenericsCache}.
+ */
+final class LambdaGenerics {
+
+    private static final ClassValue<LambdaGenerics> LAMBDA_GENERICS = new ClassValue<LambdaGenerics>() {
+        @Override
+        protected LambdaGenerics computeValue(Class<?> type) {
+            return new LambdaGenerics();
+        }
+    };
+
+    private volatile ResolvedSuperTypes resolvedSuperTypes;
+
+    private LambdaGenerics() {
+    }
+
+    /**
+     * @param lambda
+     * @return the super types of lambda, resolved as for any other object when lambda is not a lambda
+     */
+    static ResolvedSuperTypes resolveSuperTypes(Object lambda) {
+        Class<?> lambdaClass = lambda.getClass();
+        if (!lambdaClass.isSynthetic()) {
+            return GenericsUtils.resolveSuperTypes(lambdaClass);
+        }
+        LambdaGenerics lambdaGenerics = LAMBDA_GENERICS.get(lambdaClass);
+        ResolvedSuperTypes resolvedSuperTypes = lambdaGenerics.resolvedSuperTypes;
+        if (resolvedSuperTypes == null) {
+            resolvedSuperTypes = findLambdaSuperTypes(lambda);
+            lambdaGenerics.resolvedSuperTypes = resolvedSuperTypes;
+        }
+        return resolvedSuperTypes;
+    }
+
+    private static ResolvedSuperTypes findLambdaSuperTypes(Object lambda) {
+        Class<?> lambdaClass = lambda.getClass();
+        SerializedLambda serializedLambda = getSerializedLambda(lambda);
+        Map<Class<?>, Type> superTypesByRawClass = new LinkedHashMap<>();
+        for (Class<?> lambdaInterface : lambdaClass.getInterfaces()) {
+            Map<TypeVariable<?>, Type> typeArguments = new HashMap<>();
+            if (serializedLambda != null && lambdaInterface.getName().equals(serializedLambda.getFunctionalInterfaceClass().replace('/', '.'))) {
+                bindTypeArguments(lambdaInterface, serializedLambda, lambdaClass.getClassLoader(), typeArguments);
+            }
+            Type interfaceType = parameterize(lambdaInterface, typeArguments);
+            superTypesByRawClass.putIfAbsent(lambdaInterface, interfaceType);
+            for (Map.Entry<Class<?>, Type> superType : GenericsUtils.resolveSuperTypes(interfaceType).getSuperTypesByRawClass().entrySet()) {
+                superTypesByRawClass.putIfAbsent(superType.getKey(), superType.getValue());
+            }
+        }
+        return new ResolvedSuperTypes(lambdaClass, superTypesByRawClass);
+    }
+
+    /**
+     * @return the SerializedLambda of lambda, or null when lambda is not serializable
+     */
+    private static SerializedLambda getSerializedLambda(Object lambda) {
+        try {
+            Method writeReplace = lambda.getClass().getDeclaredMethod("writeReplace");
+            writeReplace.setAccessible(true);
+            Object replacement = writeReplace.invoke(lambda);
+            return replacement instanceof SerializedLambda ? (SerializedLambda) replacement : null;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static void bindTypeArguments(Class<?> functionalInterface, SerializedLambda serializedLambda, ClassLoader classLoader, Map<TypeVariable<?>, Type> typeArguments) {
+        if (ClassGenerics.of(functionalInterface).getTypeParameters().length == 0) {
+            return;
+        }
+        try {
+            MethodType functionalMethodType = MethodType.fromMethodDescriptorString(serializedLambda.getFunctionalInterfaceMethodSignature(), classLoader);
+            Method functionalMethod = findMethod(functionalInterface.getMethods(), serializedLambda.getFunctionalInterfaceMethodName(), functionalMethodType);
+            if (functionalMethod == null) {
+                return;
+            }
+            MethodType instantiatedMethodType = MethodType.fromMethodDescriptorString(serializedLambda.getInstantiatedMethodType(), classLoader);
+            Type[] implementationTypes = getImplementationTypes(serializedLambda, classLoader, instantiatedMethodType.parameterCount());
+            Map<TypeVariable<?>, Type> declaringTypeArguments = getDeclaringTypeArguments(functionalInterface, functionalMethod.getDeclaringClass());
+            Type[] parameterTypes = functionalMethod.getGenericParameterTypes();
+            for (int i = 0; i <= parameterTypes.length - 1; i++) {
+                Type actualType = chooseActualType(implementationTypes == null ? null : implementationTypes[i], instantiatedMethodType.parameterType(i));
+                bind(substitute(parameterTypes[i], declaringTypeArguments), actualType, functionalInterface, typeArguments);
+            }
+            Type actualReturnType = chooseActualType(implementationTypes == null ? null : implementationTypes[parameterTypes.length], instantiatedMethodType.returnType());
+            bind(substitute(functionalMethod.getGenericReturnType(), declaringTypeArguments), actualReturnType, functionalInterface, typeArguments);
+        } catch (TypeNotPresentException | IllegalArgumentException | LinkageError e) {
+            // A type named by the lambda cannot be loaded from its class loader, the generics are left unresolved
+        }
+    }
+
+    /**
+     * The generic types of the implementation method that line up with the parameters of the functional method,
+     * followed by its return type. The receiver of an instance method counts as its first parameter, and the
+     * arguments captured by the lambda are dropped from the front.
+     *
+     * @return the types, or null when the implementation method cannot be found or does not line up
+     */
+    private static Type[] getImplementationTypes(SerializedLambda serializedLambda, ClassLoader classLoader, int parameterCount) {
+        Class<?> implementationClass;
+        try {
+            implementationClass = Class.forName(serializedLambda.getImplClass().replace('/', '.'), false, classLoader);
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+        MethodType implementationMethodType = MethodType.fromMethodDescriptorString(serializedLambda.getImplMethodSignature(), classLoader);
+        List<Type> implementationTypes = new ArrayList<>();
+        Type returnType;
+        if (serializedLambda.getImplMethodKind() == MethodHandleInfo.REF_newInvokeSpecial) {
+            Constructor<?> constructor = findConstructor(implementationClass, implementationMethodType);
+            if (constructor == null) {
+                return null;
+            }
+            implementationTypes.addAll(Arrays.asList(getGenericParameterTypes(constructor.getGenericParameterTypes(), constructor.getParameterTypes())));
+            returnType = implementationClass;
+        } else {
+            Method method = findMethod(implementationClass.getDeclaredMethods(), serializedLambda.getImplMethodName(), implementationMethodType);
+            if (method == null) {
+                return null;
+            }
+            if (serializedLambda.getImplMethodKind() != MethodHandleInfo.REF_invokeStatic) {
+                implementationTypes.add(implementationClass);
+            }
+            implementationTypes.addAll(Arrays.asList(getGenericParameterTypes(method.getGenericParameterTypes(), method.getParameterTypes())));
+            returnType = method.getGenericReturnType();
+        }
+        int capturedArgCount = serializedLambda.getCapturedArgCount();
+        if (implementationTypes.size() - capturedArgCount != parameterCount) {
+            return null;
+        }
+        List<Type> lambdaTypes = new ArrayList<>(implementationTypes.subList(capturedArgCount, implementationTypes.size()));
+        lambdaTypes.add(returnType);
+        return lambdaTypes.toArray(new Type[0]);
+    }
+
+    /**
+     * The generic parameter types leave out the synthetic parameters some constructors and methods have, such as the
+     * outer instance of an inner class, so the erased types are used when the two do not line up.
+     */
+    private static Type[] getGenericParameterTypes(Type[] genericParameterTypes, Class<?>[] parameterTypes) {
+        return genericParameterTypes.length == parameterTypes.length ? genericParameterTypes : parameterTypes;
+    }
+
+    private static Method findMethod(Method[] methods, String name, MethodType methodType) {
+        for (Method method : methods) {
+            if (method.getName().equals(name) && method.getReturnType() == methodType.returnType()
+                    && Arrays.equals(method.getParameterTypes(), methodType.parameterArray())) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static Constructor<?> findConstructor(Class<?> implementationClass, MethodType methodType) {
+        for (Constructor<?> constructor : implementationClass.getDeclaredConstructors()) {
+            if (Arrays.equals(constructor.getParameterTypes(), methodType.parameterArray())) {
+                return constructor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The generic type of the implementation method is used when it is the instantiated class with its generics fully
+     * known. Otherwise, for a lambda body whose signature is erased, a primitive that the lambda boxes, or a method
+     * declared on a super class of the instantiated class, only the instantiated class is known.
+     */
+    private static Type chooseActualType(Type implementationType, Class<?> instantiatedType) {
+        if (implementationType == null || !isFullyKnown(implementationType)) {
+            return instantiatedType;
+        }
+        Type rawType = implementationType instanceof ParameterizedType ? ((ParameterizedType) implementationType).getRawType() : implementationType;
+        return rawType == instantiatedType ? ResolvedParameterizedType.canonicalize(implementationType) : instantiatedType;
+    }
+
+    private static boolean isFullyKnown(Type type) {
+        if (type instanceof Class<?>) {
+            return true;
+        } else if (type instanceof ParameterizedType) {
+            for (Type actualTypeArgument : ((ParameterizedType) type).getActualTypeArguments()) {
+                if (!isFullyKnown(actualTypeArgument)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            for (Type bound : wildcardType.getUpperBounds()) {
+                if (!isFullyKnown(bound)) {
+                    return false;
+                }
+            }
+            for (Type bound : wildcardType.getLowerBounds()) {
+                if (!isFullyKnown(bound)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (type instanceof GenericArrayType) {
+            return isFullyKnown(((GenericArrayType) type).getGenericComponentType());
+        }
+        return false;
+    }
+
+    /**
+     * The type arguments the functional interface gives to the interface that declares its functional method, in
+     * terms of the type parameters of the functional interface.
+     */
+    private static Map<TypeVariable<?>, Type> getDeclaringTypeArguments(Class<?> functionalInterface, Class<?> declaringInterface) {
+        Map<TypeVariable<?>, Type> declaringTypeArguments = new HashMap<>();
+        if (declaringInterface == functionalInterface) {
+            return declaringTypeArguments;
+        }
+        Type[] actualTypeArguments = GenericsUtils.resolveSuperTypes(functionalInterface).getTypeArguments(declaringInterface);
+        TypeVariable<?>[] typeParameters = ClassGenerics.of(declaringInterface).getTypeParameters();
+        if (actualTypeArguments != null && actualTypeArguments.length == typeParameters.length) {
+            for (int i = 0; i <= typeParameters.length - 1; i++) {
+                declaringTypeArguments.put(typeParameters[i], actualTypeArguments[i]);
+            }
+        }
+        return declaringTypeArguments;
+    }
+
+    private static Type substitute(Type type, Map<TypeVariable<?>, Type> typeArguments) {
+        if (typeArguments.isEmpty()) {
+            return type;
+        }
+        if (type instanceof TypeVariable<?>) {
+            return typeArguments.getOrDefault(type, type);
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
+            for (int i = 0; i <= actualTypeArguments.length - 1; i++) {
+                actualTypeArguments[i] = substitute(actualTypeArguments[i], typeArguments);
+            }
+            return ResolvedParameterizedType.makeWithoutCopy((Class<?>) parameterizedType.getRawType(), actualTypeArguments, parameterizedType.getOwnerType());
+        }
+        return type;
+    }
+
+    /**
+     * Match the generic type of the functional method against the actual type of the lambda and record each type
+     * parameter of functionalInterface that it pins down. The first binding of a type parameter wins.
+     */
+    private static void bind(Type formalType, Type actualType, Class<?> functionalInterface, Map<TypeVariable<?>, Type> typeArguments) {
+        if (formalType instanceof TypeVariable<?>) {
+            if (((TypeVariable<?>) formalType).getGenericDeclaration() == functionalInterface && !(actualType instanceof Class<?> && ((Class<?>) actualType).isPrimitive())) {
+                typeArguments.putIfAbsent((TypeVariable<?>) formalType, actualType);
+            }
+        } else if (formalType instanceof ParameterizedType && actualType instanceof ParameterizedType) {
+            ParameterizedType formalParameterizedType = (ParameterizedType) formalType;
+            ParameterizedType actualParameterizedType = (ParameterizedType) actualType;
+            if (formalParameterizedType.getRawType() == actualParameterizedType.getRawType()) {
+                Type[] formalTypeArguments = formalParameterizedType.getActualTypeArguments();
+                Type[] actualTypeArguments = actualParameterizedType.getActualTypeArguments();
+                for (int i = 0; i <= formalTypeArguments.length - 1; i++) {
+                    bind(formalTypeArguments[i], actualTypeArguments[i], functionalInterface, typeArguments);
+                }
+            }
+        } else if (formalType instanceof GenericArrayType) {
+            Type formalComponentType = ((GenericArrayType) formalType).getGenericComponentType();
+            if (actualType instanceof GenericArrayType) {
+                bind(formalComponentType, ((GenericArrayType) actualType).getGenericComponentType(), functionalInterface, typeArguments);
+            } else if (actualType instanceof Class<?> && ((Class<?>) actualType).isArray()) {
+                bind(formalComponentType, ((Class<?>) actualType).getComponentType(), functionalInterface, typeArguments);
+            }
+        }
+    }
+
+    /**
+     * @return clazz with the bound type arguments, and its own type parameters where none is bound
+     */
+    private static Type parameterize(Class<?> clazz, Map<TypeVariable<?>, Type> typeArguments) {
+        TypeVariable<?>[] typeParameters = ClassGenerics.of(clazz).getTypeParameters();
+        if (typeParameters.length == 0) {
+            return clazz;
+        }
+        Type[] actualTypeArguments = new Type[typeParameters.length];
+        for (int i = 0; i <= typeParameters.length - 1; i++) {
+            actualTypeArguments[i] = typeArguments.getOrDefault(typeParameters[i], typeParameters[i]);
+        }
+        return ResolvedParameterizedType.makeWithoutCopy(clazz, actualTypeArguments, null);
+    }
+
+}
@@ -0,0 +1,254 @@
+package org.genericsutils;
+
+import lombok.SneakyThrows;
+
+import java.io.*;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * PersistentGenericsIndex stores resolved super types in a file so that a restarted JVM can skip the reflective walk of
+ * the hierarchies it has resolved before. Write the index with {@link #write(Path, Collection)} and point the system
+ * property {@value #INDEX_PROPERTY} at it. {@link GenericsUtils} then memory maps the file on its first lookup and
+ * reads the super types of a class from it before resolving them itself.
+ * Each entry records a hash of the class file of the class and of each of its super classes and interfaces. An entry is
+ * ignored as soon as one of those class files no longer matches, and the whole index is ignored when it was written by
+ * another Java version.
+ */
+public final class PersistentGenericsIndex {
+
+    public static final String INDEX_PROPERTY = "genericsutils.index";
+
+    private static final int MAGIC = 0x47554958;
+
+    private static final int VERSION = 1;
+
+    private static final ClassValue<Long> CLASS_FILE_HASHES = new ClassValue<Long>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            return computeClassFileHash(type);
+        }
+    };
+
+    private final ByteBuffer buffer;
+
+    private final Map<String, Integer> entryPositions;
+
+    private PersistentGenericsIndex(ByteBuffer buffer, Map<String, Integer> entryPositions) {
+        this.buffer = buffer;
+        this.entryPositions = entryPositions;
+    }
+
+    /**
+     * Resolve the super types of every class and write them to indexFile, replacing it. Classes whose class files
+     * cannot be read, or whose super types cannot be written, such as those with wildcards, are left out.
+     *
+     * @param indexFile
+     * @param classes
+     * @return the number of classes written
+     */
+    @SneakyThrows
+    public static int write(Path indexFile, Collection<Class<?>> classes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int entryCount = 0;
+        try (DataOutputStream entries = new DataOutputStream(bytes)) {
+            for (Class<?> clazz : new LinkedHashSet<>(classes)) {
+                if (writeEntry(entries, clazz)) {
+                    entryCount++;
+                }
+            }
+        }
+        Path absoluteIndexFile = indexFile.toAbsolutePath();
+        Path temporaryFile = Files.createTempFile(absoluteIndexFile.getParent(), absoluteIndexFile.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(System.getProperty("java.version"));
+            out.writeInt(entryCount);
+            bytes.writeTo(out);
+        }
+        Files.move(temporaryFile, absoluteIndexFile, StandardCopyOption.REPLACE_EXISTING);
+        return entryCount;
+    }
+
+    private static boolean writeEntry(DataOutputStream entries, Class<?> clazz) throws IOException {
+        Long classFileHash = CLASS_FILE_HASHES.get(clazz);
+        if (classFileHash == null) {
+            return false;
+        }
+        ResolvedSuperTypes resolvedSuperTypes = GenericsUtils.resolveSuperTypes(clazz);
+        List<Class<?>> hashedClasses = new ArrayList<>();
+        hashedClasses.add(clazz);
+        List<String> signatures = new ArrayList<>();
+        for (Map.Entry<Class<?>, Type> superType : resolvedSuperTypes.getSuperTypesByRawClass().entrySet()) {
+            String signature = TypeSignatures.toSignature(superType.getValue());
+            if (signature == null) {
+                return false;
+            }
+            signatures.add(signature);
+            if (superType.getKey().getClassLoader() != null) {
+                if (CLASS_FILE_HASHES.get(superType.getKey()) == null) {
+                    return false;
+                }
+                hashedClasses.add(superType.getKey());
+            }
+        }
+        entries.writeUTF(clazz.getName());
+        entries.writeShort(hashedClasses.size());
+        for (Class<?> hashedClass : hashedClasses) {
+            entries.writeUTF(hashedClass.getName());
+            entries.writeLong(CLASS_FILE_HASHES.get(hashedClass));
+        }
+        entries.writeShort(signatures.size());
+        for (String signature : signatures) {
+            entries.writeUTF(signature);
+        }
+        return true;
+    }
+
+    /**
+     * Memory map indexFile and index its entries by class name. The entries themselves are only decoded on lookup.
+     *
+     * @param indexFile
+     * @return the index, or null when the file was written by another version of the index or of Java
+     */
+    @SneakyThrows
+    static PersistentGenericsIndex load(Path indexFile) {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || !System.getProperty("java.version").equals(readString(buffer))) {
+            return null;
+        }
+        int entryCount = buffer.getInt();
+        Map<String, Integer> entryPositions = new HashMap<>(entryCount * 2);
+        for (int i = 0; i <= entryCount - 1; i++) {
+            int entryPosition = buffer.position();
+            String className = readString(buffer);
+            int hashedClassCount = buffer.getShort() & 0xFFFF;
+            for (int j = 0; j <= hashedClassCount - 1; j++) {
+                skipString(buffer);
+                buffer.position(buffer.position() + Long.BYTES);
+            }
+            int superTypeCount = buffer.getShort() & 0xFFFF;
+            for (int j = 0; j <= superTypeCount - 1; j++) {
+                skipString(buffer);
+            }
+            entryPositions.put(className, entryPosition);
+        }
+        return new PersistentGenericsIndex(buffer, entryPositions);
+    }
+
+    /**
+     * @param clazz
+     * @return the super types of clazz recorded in the index the system property points at, or null when there is no
+     * index, no entry for clazz, or a class file changed since the entry was written
+     */
+    static ResolvedSuperTypes getIndexedSuperTypes(Class<?> clazz) {
+        PersistentGenericsIndex index = Holder.INDEX;
+        return index == null ? null : index.getResolvedSuperTypes(clazz);
+    }
+
+    ResolvedSuperTypes getResolvedSuperTypes(Class<?> clazz) {
+        Integer entryPosition = entryPositions.get(clazz.getName());
+        if (entryPosition == null) {
+            return null;
+        }
+        ByteBuffer entry = buffer.duplicate();
+        entry.position(entryPosition);
+        skipString(entry);
+        ClassLoader classLoader = clazz.getClassLoader();
+        try {
+            int hashedClassCount = entry.getShort() & 0xFFFF;
+            for (int i = 0; i <= hashedClassCount - 1; i++) {
+                String hashedClassName = readString(entry);
+                long recordedHash = entry.getLong();
+                Class<?> hashedClass = hashedClassName.equals(clazz.getName()) ? clazz : Class.forName(hashedClassName, false, classLoader);
+                Long classFileHash = CLASS_FILE_HASHES.get(hashedClass);
+                if (classFileHash == null || classFileHash != recordedHash) {
+                    return null;
+                }
+            }
+            int superTypeCount = entry.getShort() & 0xFFFF;
+            Map<Class<?>, Type> superTypesByRawClass = new LinkedHashMap<>(superTypeCount * 2);
+            for (int i = 0; i <= superTypeCount - 1; i++) {
+                Type superType = TypeSignatures.fromSignature(readString(entry), classLoader);
+                superTypesByRawClass.put(GenericsUtils.getRawClass(superType), superType);
+            }
+            return new ResolvedSuperTypes(clazz, superTypesByRawClass);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * A hash of the bytes of the class file clazz was loaded from, or null for classes without a readable class file,
+     * such as generated classes and the JDK's own classes.
+     */
+    static Long computeClassFileHash(Class<?> clazz) {
+        ClassLoader classLoader = clazz.getClassLoader();
+        if (classLoader == null || clazz.isArray() || clazz.isPrimitive()) {
+            return null;
+        }
+        String resourceName = clazz.getName().replace('.', '/') + ".class";
+        try (InputStream classFile = classLoader.getResourceAsStream(resourceName)) {
+            if (classFile == null) {
+                return null;
+            }
+            CRC32 crc = new CRC32();
+            byte[] chunk = new byte[8192];
+            long length = 0;
+            int read;
+            while ((read = classFile.read(chunk)) != -1) {
+                crc.update(chunk, 0, read);
+                length += read;
+            }
+            return (length << 32) | crc.getValue();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipString(ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        buffer.position(buffer.position() + length);
+    }
+
+    private static final class Holder {
+
+        private static final PersistentGenericsIndex INDEX = loadConfiguredIndex();
+
+        private static PersistentGenericsIndex loadConfiguredIndex() {
+            String indexFile = System.getProperty(INDEX_PROPERTY);
+            if (indexFile == null || !Files.isRegularFile(Paths.get(indexFile))) {
+                return null;
+            }
+            try {
+                return load(Paths.get(indexFile));
+            } catch (RuntimeException e) {
+                // A truncated or corrupt index is ignored, the super types are then resolved through reflection
+                return null;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,47 @@
+package org.genericsutils;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Type;
+
+/**
+ * ResolvedGenericArrayType is the immutable GenericArrayType built by {@link GenericsUtils} when it substitutes the
+ * generics of a member type and the component type still has generics, such as List&lt;String&gt;[]. It is equal to
+ * any other GenericArrayType with an equal component type.
+ */
+public final class ResolvedGenericArrayType implements GenericArrayType {
+
+    private final Type genericComponentType;
+
+    ResolvedGenericArrayType(Type genericComponentType) {
+        this.genericComponentType = genericComponentType;
+    }
+
+    @Override
+    public Type getGenericComponentType() {
+        return genericComponentType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof GenericArrayType && genericComponentType.equals(((GenericArrayType) o).getGenericComponentType());
+    }
+
+    @Override
+    public int hashCode() {
+        return genericComponentType.hashCode();
+    }
+
+    @Override
+    public String getTypeName() {
+        return genericComponentType.getTypeName() + "[]";
+    }
+
+    @Override
+    public String toString() {
+        return getTypeName();
+    }
+
+}
@@ -0,0 +1,86 @@
+package org.genericsutils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ResolvedMembers is an immutable table of the field, return and parameter types of every member of a class and of
+ * its super classes and interfaces, with the generics of each member substituted as seen from the class.
+ * Example: for Class2String extends AbstractClass2<String> where AbstractClass2<T> declares T value,
+ * getFieldType(valueField) returns String.class
+ */
+public final class ResolvedMembers {
+
+    private final Class<?> type;
+
+    private final Map<Field, Type> fieldTypes;
+
+    private final Map<Method, Type> returnTypes;
+
+    private final Map<Method, Type[]> parameterTypes;
+
+    ResolvedMembers(Class<?> type, Map<Field, Type> fieldTypes, Map<Method, Type> returnTypes, Map<Method, Type[]> parameterTypes) {
+        this.type = type;
+        this.fieldTypes = Collections.unmodifiableMap(new LinkedHashMap<>(fieldTypes));
+        this.returnTypes = Collections.unmodifiableMap(new LinkedHashMap<>(returnTypes));
+        this.parameterTypes = Collections.unmodifiableMap(new LinkedHashMap<>(parameterTypes));
+    }
+
+    /**
+     * @return the class whose members are held in this table
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return every field declared by the class and its super classes, from the class up, mapped to its resolved type
+     */
+    public Map<Field, Type> getFieldTypes() {
+        return fieldTypes;
+    }
+
+    /**
+     * @return every method declared by the class, its super classes and its interfaces
+     */
+    public Collection<Method> getMethods() {
+        return returnTypes.keySet();
+    }
+
+    /**
+     * @param field
+     * @return the resolved type of field, or null if field is not declared in the hierarchy of the class
+     */
+    public Type getFieldType(Field field) {
+        return fieldTypes.get(field);
+    }
+
+    /**
+     * @param method
+     * @return the resolved return type of method, or null if method is not declared in the hierarchy of the class
+     */
+    public Type getReturnType(Method method) {
+        return returnTypes.get(method);
+    }
+
+    /**
+     * @param method
+     * @return a copy of the resolved parameter types of method, or null if method is not declared in the hierarchy of
+     * the class
+     */
+    public Type[] getParameterTypes(Method method) {
+        Type[] resolvedParameterTypes = parameterTypes.get(method);
+        return resolvedParameterTypes == null ? null : resolvedParameterTypes.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "ResolvedMembers{" + type.getTypeName() + " -> " + fieldTypes + "}";
+    }
+
+}
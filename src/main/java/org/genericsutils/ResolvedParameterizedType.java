@@ -0,0 +1,178 @@
+package org.genericsutils;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * ResolvedParameterizedType is the immutable ParameterizedType built by {@link GenericsUtils} when it substitutes the
+ * generics of a super type. Instances are interned, so equal types resolved from different places are the same object
+ * and can be compared and hashed cheaply. It is equal to any other ParameterizedType with the same raw type, owner type
+ * and actual type arguments, including the ones returned by the JDK's reflection.
+ */
+public final class ResolvedParameterizedType implements ParameterizedType {
+
+    private static final Map<ResolvedParameterizedType, WeakReference<ResolvedParameterizedType>> INTERNED = new WeakHashMap<>();
+
+    private final Class<?> rawType;
+
+    private final Type[] actualTypeArguments;
+
+    private final Type ownerType;
+
+    private final int hashCode;
+
+    private ResolvedParameterizedType(Class<?> rawType, Type[] actualTypeArguments, Type ownerType) {
+        this.rawType = rawType;
+        this.actualTypeArguments = actualTypeArguments;
+        this.ownerType = ownerType;
+        this.hashCode = Arrays.hashCode(actualTypeArguments) ^ Objects.hashCode(ownerType) ^ rawType.hashCode();
+    }
+
+    /**
+     * Get the canonical ResolvedParameterizedType for rawType with the given actual type arguments.
+     *
+     * @param rawType
+     * @param actualTypeArguments
+     * @param ownerType
+     * @return
+     */
+    public static ResolvedParameterizedType make(Class<?> rawType, Type[] actualTypeArguments, Type ownerType) {
+        return makeWithoutCopy(rawType, actualTypeArguments.clone(), ownerType);
+    }
+
+    /**
+     * Same as {@link #make(Class, Type[], Type)} but takes ownership of actualTypeArguments instead of copying it, so the
+     * caller must not modify the array afterwards.
+     */
+    static ResolvedParameterizedType makeWithoutCopy(Class<?> rawType, Type[] actualTypeArguments, Type ownerType) {
+        if (ClassGenerics.of(rawType).getTypeParameters().length != actualTypeArguments.length) {
+            throw new RuntimeException("Number of generic TypeParameters do not match.");
+        }
+        if (ownerType == null) {
+            ownerType = rawType.getDeclaringClass();
+        }
+        return intern(new ResolvedParameterizedType(rawType, actualTypeArguments, ownerType));
+    }
+
+    /**
+     * Convert a ParameterizedType from any source, including its ParameterizedType arguments, to the canonical
+     * ResolvedParameterizedType. Any other type is returned as is.
+     *
+     * @param type
+     * @return
+     */
+    public static Type canonicalize(Type type) {
+        if (!(type instanceof ParameterizedType) || type instanceof ResolvedParameterizedType) {
+            return type;
+        }
+        ParameterizedType parameterizedType = (ParameterizedType) type;
+        Type rawType = parameterizedType.getRawType();
+        if (!(rawType instanceof Class<?>)) {
+            throw new RuntimeException("Unexpected RawType = " + rawType.getTypeName());
+        }
+        Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
+        for (int i = 0; i <= actualTypeArguments.length - 1; i++) {
+            actualTypeArguments[i] = canonicalize(actualTypeArguments[i]);
+        }
+        // Reflection already matched the arguments to the type parameters, and checking them again through ClassGenerics
+        // would recurse while ClassGenerics is canonicalizing a self referencing class such as Foo<T extends Foo<T>>
+        Type ownerType = parameterizedType.getOwnerType();
+        if (ownerType == null) {
+            ownerType = ((Class<?>) rawType).getDeclaringClass();
+        }
+        return intern(new ResolvedParameterizedType((Class<?>) rawType, actualTypeArguments, canonicalize(ownerType)));
+    }
+
+    private static ResolvedParameterizedType intern(ResolvedParameterizedType parameterizedType) {
+        GenericsMetrics.recordParameterizedTypeConstructed(parameterizedType);
+        synchronized (INTERNED) {
+            WeakReference<ResolvedParameterizedType> existingReference = INTERNED.get(parameterizedType);
+            ResolvedParameterizedType existing = existingReference == null ? null : existingReference.get();
+            if (existing != null) {
+                return existing;
+            }
+            INTERNED.put(parameterizedType, new WeakReference<>(parameterizedType));
+            return parameterizedType;
+        }
+    }
+
+    /**
+     * @return the actual type arguments without the defensive copy made by {@link #getActualTypeArguments()}
+     */
+    Type[] actualTypeArguments() {
+        return actualTypeArguments;
+    }
+
+    @Override
+    public Type[] getActualTypeArguments() {
+        return actualTypeArguments.clone();
+    }
+
+    @Override
+    public Class<?> getRawType() {
+        return rawType;
+    }
+
+    @Override
+    public Type getOwnerType() {
+        return ownerType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ParameterizedType)) {
+            return false;
+        }
+        if (o instanceof ResolvedParameterizedType) {
+            ResolvedParameterizedType that = (ResolvedParameterizedType) o;
+            return hashCode == that.hashCode
+                    && rawType == that.rawType
+                    && Objects.equals(ownerType, that.ownerType)
+                    && Arrays.equals(actualTypeArguments, that.actualTypeArguments);
+        }
+        ParameterizedType that = (ParameterizedType) o;
+        return rawType.equals(that.getRawType())
+                && Objects.equals(ownerType, that.getOwnerType())
+                && Arrays.equals(actualTypeArguments, that.getActualTypeArguments());
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String getTypeName() {
+        StringBuilder typeName = new StringBuilder();
+        if (ownerType != null) {
+            typeName.append(ownerType.getTypeName()).append('$').append(rawType.getSimpleName());
+        } else {
+            typeName.append(rawType.getName());
+        }
+        if (actualTypeArguments.length > 0) {
+            typeName.append('<');
+            for (int i = 0; i <= actualTypeArguments.length - 1; i++) {
+                if (i > 0) {
+                    typeName.append(", ");
+                }
+                typeName.append(actualTypeArguments[i].getTypeName());
+            }
+            typeName.append('>');
+        }
+        return typeName.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getTypeName();
+    }
+
+}
@@ -0,0 +1,102 @@
+package org.genericsutils;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ResolvedSuperTypes is an immutable table of every super class and interface of a type, indexed by raw class.
+ * Each entry holds the super type with its generics substituted as far as the resolved type allows.
+ * Example: for ClassA extends ClassB<String, Integer>, getTypeArgument(ClassB.class, 1) returns Integer.class
+ */
+public final class ResolvedSuperTypes {
+
+    private static final Type[] NO_TYPE_ARGUMENTS = new Type[0];
+
+    private final Type type;
+
+    private final Map<Class<?>, Type> superTypesByRawClass;
+
+    ResolvedSuperTypes(Type type, Map<Class<?>, Type> superTypesByRawClass) {
+        this.type = type;
+        this.superTypesByRawClass = Collections.unmodifiableMap(new LinkedHashMap<>(superTypesByRawClass));
+    }
+
+    /**
+     * @return the type whose super types are held in this table
+     */
+    public Type getType() {
+        return type;
+    }
+
+    Map<Class<?>, Type> getSuperTypesByRawClass() {
+        return superTypesByRawClass;
+    }
+
+    /**
+     * @return the raw class of every super class and interface, excluding Object
+     */
+    public Set<Class<?>> getRawSuperTypes() {
+        return superTypesByRawClass.keySet();
+    }
+
+    public boolean contains(Class<?> rawSuperType) {
+        return superTypesByRawClass.containsKey(rawSuperType);
+    }
+
+    /**
+     * @param rawSuperType
+     * @return the super type with its generics substituted, a Class when it has no generics, or null if rawSuperType is
+     * not a super type
+     */
+    public Type getSuperType(Class<?> rawSuperType) {
+        return superTypesByRawClass.get(rawSuperType);
+    }
+
+    /**
+     * @param rawSuperType
+     * @return a copy of the actual type arguments of the super type, empty when it has no generics, or null if
+     * rawSuperType is not a super type
+     */
+    public Type[] getTypeArguments(Class<?> rawSuperType) {
+        Type superType = superTypesByRawClass.get(rawSuperType);
+        if (superType == null) {
+            return null;
+        }
+        if (superType instanceof ParameterizedType) {
+            return ((ParameterizedType) superType).getActualTypeArguments();
+        }
+        return NO_TYPE_ARGUMENTS;
+    }
+
+    /**
+     * @param rawSuperType
+     * @param genericPosition
+     * @return the actual type argument at genericPosition, or null if rawSuperType is not a super type
+     */
+    public Type getTypeArgument(Class<?> rawSuperType, int genericPosition) {
+        Type superType = superTypesByRawClass.get(rawSuperType);
+        if (superType == null) {
+            return null;
+        }
+        Type[] typeArguments = NO_TYPE_ARGUMENTS;
+        if (superType instanceof ResolvedParameterizedType) {
+            typeArguments = ((ResolvedParameterizedType) superType).actualTypeArguments();
+        } else if (superType instanceof ParameterizedType) {
+            typeArguments = ((ParameterizedType) superType).getActualTypeArguments();
+        }
+        if (genericPosition > typeArguments.length - 1) {
+            throw new RuntimeException("Generic Position " + genericPosition + " exceeds the number of generics in " + rawSuperType.getTypeName());
+        }
+        return typeArguments[genericPosition];
+    }
+
+    @Override
+    public String toString() {
+        return "ResolvedSuperTypes{" + type.getTypeName() + " -> " + superTypesByRawClass.values() + "}";
+    }
+
+}
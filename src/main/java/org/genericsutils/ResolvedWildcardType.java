@@ -0,0 +1,68 @@
+package org.genericsutils;
+
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+
+/**
+ * ResolvedWildcardType is the immutable WildcardType built by {@link GenericsUtils} when it substitutes the generics
+ * of a member type, such as List&lt;? extends T&gt; becoming List&lt;? extends String&gt;. It is equal to any other
+ * WildcardType with the same bounds.
+ */
+public final class ResolvedWildcardType implements WildcardType {
+
+    private static final Type[] NO_BOUNDS = new Type[0];
+
+    private final Type[] upperBounds;
+
+    private final Type[] lowerBounds;
+
+    ResolvedWildcardType(Type[] upperBounds, Type[] lowerBounds) {
+        this.upperBounds = upperBounds.length == 0 ? new Type[]{Object.class} : upperBounds;
+        this.lowerBounds = lowerBounds.length == 0 ? NO_BOUNDS : lowerBounds;
+    }
+
+    @Override
+    public Type[] getUpperBounds() {
+        return upperBounds.clone();
+    }
+
+    @Override
+    public Type[] getLowerBounds() {
+        return lowerBounds.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof WildcardType)) {
+            return false;
+        }
+        WildcardType that = (WildcardType) o;
+        return Arrays.equals(upperBounds, that.getUpperBounds()) && Arrays.equals(lowerBounds, that.getLowerBounds());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(upperBounds) ^ Arrays.hashCode(lowerBounds);
+    }
+
+    @Override
+    public String getTypeName() {
+        if (lowerBounds.length > 0) {
+            return "? super " + lowerBounds[0].getTypeName();
+        }
+        if (upperBounds[0] == Object.class) {
+            return "?";
+        }
+        return "? extends " + upperBounds[0].getTypeName();
+    }
+
+    @Override
+    public String toString() {
+        return getTypeName();
+    }
+
+}
@@ -0,0 +1,210 @@
+package org.genericsutils;
+
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TypeSignatures writes resolved types as compact strings, close to the JVM's own generic signatures, and reads them
+ * back. Supported are classes, arrays of classes, ParameterizedTypes whose owner is not itself parameterized, and type
+ * variables declared by a class:
+ * <pre>
+ *     Ljava/lang/String;                              String
+ *     [I                                              int[]
+ *     Ljava/util/Map&lt;Ljava/lang/String;[J&gt;;          Map&lt;String, long[]&gt;
+ *     Tcom/example/Repository:ID;                     type variable ID of Repository
+ * </pre>
+ */
+final class TypeSignatures {
+
+    private TypeSignatures() {
+    }
+
+    /**
+     * @param type
+     * @return the signature of type, or null when type cannot be written
+     */
+    static String toSignature(Type type) {
+        StringBuilder signature = new StringBuilder();
+        return appendSignature(signature, type) ? signature.toString() : null;
+    }
+
+    private static boolean appendSignature(StringBuilder signature, Type type) {
+        if (type instanceof Class<?>) {
+            Class<?> clazz = (Class<?>) type;
+            if (clazz.isArray() || clazz.isPrimitive()) {
+                signature.append(getDescriptor(clazz));
+            } else {
+                signature.append('L').append(clazz.getName().replace('.', '/')).append(';');
+            }
+            return true;
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            if (parameterizedType.getOwnerType() instanceof ParameterizedType || !(parameterizedType.getRawType() instanceof Class<?>)) {
+                return false;
+            }
+            signature.append('L').append(((Class<?>) parameterizedType.getRawType()).getName().replace('.', '/')).append('<');
+            for (Type actualTypeArgument : parameterizedType.getActualTypeArguments()) {
+                if (!appendSignature(signature, actualTypeArgument)) {
+                    return false;
+                }
+            }
+            signature.append(">;");
+            return true;
+        } else if (type instanceof TypeVariable<?>) {
+            TypeVariable<?> typeVariable = (TypeVariable<?>) type;
+            GenericDeclaration genericDeclaration = typeVariable.getGenericDeclaration();
+            if (!(genericDeclaration instanceof Class<?>)) {
+                return false;
+            }
+            signature.append('T').append(((Class<?>) genericDeclaration).getName().replace('.', '/'))
+                    .append(':').append(typeVariable.getName()).append(';');
+            return true;
+        }
+        return false;
+    }
+
+    private static String getDescriptor(Class<?> clazz) {
+        if (clazz.isArray()) {
+            return clazz.getName().replace('.', '/');
+        }
+        if (clazz == int.class) {
+            return "I";
+        } else if (clazz == long.class) {
+            return "J";
+        } else if (clazz == boolean.class) {
+            return "Z";
+        } else if (clazz == byte.class) {
+            return "B";
+        } else if (clazz == char.class) {
+            return "C";
+        } else if (clazz == short.class) {
+            return "S";
+        } else if (clazz == float.class) {
+            return "F";
+        } else if (clazz == double.class) {
+            return "D";
+        } else if (clazz == void.class) {
+            return "V";
+        }
+        throw new RuntimeException("Unexpected primitive " + clazz.getName());
+    }
+
+    /**
+     * @param signature
+     * @param classLoader the loader the classes named in signature are loaded from
+     * @return
+     * @throws ClassNotFoundException when a class named in signature cannot be loaded
+     */
+    static Type fromSignature(String signature, ClassLoader classLoader) throws ClassNotFoundException {
+        Parser parser = new Parser(signature, classLoader);
+        Type type = parser.parseType();
+        if (parser.position != signature.length()) {
+            throw new RuntimeException("Unexpected trailing characters in signature " + signature);
+        }
+        return type;
+    }
+
+    private static final class Parser {
+
+        private final String signature;
+
+        private final ClassLoader classLoader;
+
+        private int position;
+
+        Parser(String signature, ClassLoader classLoader) {
+            this.signature = signature;
+            this.classLoader = classLoader;
+        }
+
+        Type parseType() throws ClassNotFoundException {
+            char tag = signature.charAt(position);
+            switch (tag) {
+                case 'L':
+                    return parseClassType();
+                case 'T':
+                    return parseTypeVariable();
+                case '[':
+                    int start = position;
+                    while (signature.charAt(position) == '[') {
+                        position++;
+                    }
+                    if (signature.charAt(position) == 'L') {
+                        position = signature.indexOf(';', position) + 1;
+                    } else {
+                        position++;
+                    }
+                    return Class.forName(signature.substring(start, position).replace('/', '.'), false, classLoader);
+                default:
+                    position++;
+                    return getPrimitive(tag);
+            }
+        }
+
+        private Type parseClassType() throws ClassNotFoundException {
+            int nameStart = position + 1;
+            int nameEnd = nameStart;
+            while (signature.charAt(nameEnd) != ';' && signature.charAt(nameEnd) != '<') {
+                nameEnd++;
+            }
+            Class<?> rawType = Class.forName(signature.substring(nameStart, nameEnd).replace('/', '.'), false, classLoader);
+            position = nameEnd;
+            if (signature.charAt(position) == ';') {
+                position++;
+                return rawType;
+            }
+            position++;
+            List<Type> actualTypeArguments = new ArrayList<>();
+            while (signature.charAt(position) != '>') {
+                actualTypeArguments.add(parseType());
+            }
+            position += 2;
+            return ResolvedParameterizedType.makeWithoutCopy(rawType, actualTypeArguments.toArray(new Type[0]), null);
+        }
+
+        private Type parseTypeVariable() throws ClassNotFoundException {
+            int separator = signature.indexOf(':', position);
+            int end = signature.indexOf(';', separator);
+            Class<?> genericDeclaration = Class.forName(signature.substring(position + 1, separator).replace('/', '.'), false, classLoader);
+            String name = signature.substring(separator + 1, end);
+            position = end + 1;
+            for (TypeVariable<?> typeVariable : ClassGenerics.of(genericDeclaration).getTypeParameters()) {
+                if (typeVariable.getName().equals(name)) {
+                    return typeVariable;
+                }
+            }
+            throw new RuntimeException("TypeVariable name " + name + " not found in Type " + genericDeclaration.getTypeName());
+        }
+
+        private static Class<?> getPrimitive(char descriptor) {
+            switch (descriptor) {
+                case 'I':
+                    return int.class;
+                case 'J':
+                    return long.class;
+                case 'Z':
+                    return boolean.class;
+                case 'B':
+                    return byte.class;
+                case 'C':
+                    return char.class;
+                case 'S':
+                    return short.class;
+                case 'F':
+                    return float.class;
+                case 'D':
+                    return double.class;
+                case 'V':
+                    return void.class;
+                default:
+                    throw new RuntimeException("Unexpected descriptor " + descriptor);
+            }
+        }
+
+    }
+
+}
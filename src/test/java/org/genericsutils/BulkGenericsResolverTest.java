@@ -0,0 +1,86 @@
+package org.genericsutils;
+
+import org.genericsutils.GenericsUtilsTest.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkGenericsResolverTest {
+
+    @TempDir
+    Path jarDirectory;
+
+    @Test
+    void resolveClasses() {
+        List<Class<?>> classes = Arrays.asList(Class2String.class, Class3StringInteger.class, ClassABStringInteger.class, ClassH.class, IClass2.class);
+        Map<Class<?>, Type> iClass2Generics = BulkGenericsResolver.resolve(classes, IClass2.class, IClassA.class)
+                .filter(resolution -> resolution.getBaseClassWithGeneric() == IClass2.class)
+                .collect(Collectors.toMap(BulkGenericsResolver.Resolution::getFromClass, resolution -> resolution.getGenericType(0)));
+        Map<Class<?>, Type> expected = new HashMap<>();
+        expected.put(Class2String.class, String.class);
+        expected.put(Class3StringInteger.class, String.class);
+        assertEquals(expected, iClass2Generics);
+
+        Map<Class<?>, Type> onPool = new ConcurrentHashMap<>();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            BulkGenericsResolver.resolve(classes, pool, resolution -> onPool.put(resolution.getFromClass(), resolution.getSuperType()), IClassA.class);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(Collections.singleton(ClassABStringInteger.class), onPool.keySet());
+        assertEquals(ResolvedParameterizedType.make(IClassA.class, new Type[]{String.class}, null), onPool.get(ClassABStringInteger.class));
+    }
+
+    @Test
+    void resolvePackage() {
+        Set<Class<?>> iClassE = BulkGenericsResolver.resolvePackage(getClass().getPackage().getName(), getClass().getClassLoader(), IClassE.class)
+                .map(BulkGenericsResolver.Resolution::getFromClass)
+                .collect(Collectors.toSet());
+        assertEquals(new HashSet<>(Arrays.asList(IClassH.class, ClassH.class)), iClassE);
+    }
+
+    @Test
+    void resolveJar() throws Exception {
+        Path jarPath = jarDirectory.resolve("fixtures.jar");
+        try (JarOutputStream jar = new JarOutputStream(Files.newOutputStream(jarPath))) {
+            for (Class<?> fixture : Arrays.asList(IClassAB.class, ClassABStringInteger.class, Class2String.class)) {
+                String entryName = fixture.getName().replace('.', '/') + ".class";
+                jar.putNextEntry(new JarEntry(entryName));
+                try (InputStream classFile = getClass().getClassLoader().getResourceAsStream(entryName)) {
+                    copy(classFile, jar);
+                }
+                jar.closeEntry();
+            }
+        }
+        List<BulkGenericsResolver.Resolution> resolutions = BulkGenericsResolver.resolveJar(jarPath, getClass().getClassLoader(), IClassB.class)
+                .collect(Collectors.toList());
+        assertEquals(2, resolutions.size());
+        for (BulkGenericsResolver.Resolution resolution : resolutions) {
+            Type expected = resolution.getFromClass() == IClassAB.class ? IClassAB.class.getTypeParameters()[1] : Integer.class;
+            assertEquals(expected, resolution.getGenericType(0));
+        }
+    }
+
+    private static void copy(InputStream in, OutputStream out) throws Exception {
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+    }
+
+}
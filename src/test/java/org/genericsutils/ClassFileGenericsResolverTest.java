@@ -0,0 +1,93 @@
+package org.genericsutils;
+
+import org.genericsutils.GenericsUtilsTest.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClassFileGenericsResolverTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void resolveLikeReflection() throws Exception {
+        Path testClasses = Paths.get(GenericsUtilsTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        try (ClassFileGenericsResolver resolver = new ClassFileGenericsResolver(Collections.singletonList(testClasses))) {
+            assertTrue(resolver.getClassNames().contains(ClassH.class.getName()));
+            Class<?>[][] queries = {
+                    {Class2String.class, IClass2.class},
+                    {ExtenededClass2StringExtendedAgainWithInteger.class, IClass2.class},
+                    {Class3StringInteger.class, IClass3.class},
+                    {ClassSTU.class, IClassX.class},
+                    {ClassSTU.class, IClassY.class},
+                    {ClassH.class, IClassF.class},
+                    {ClassH.class, IClassE.class},
+                    {ClassDiamond.class, IDiamondTop.class},
+                    {ClassListArray.class, IClass2.class},
+                    {AbstractNumberClass2.class, IClass2.class},
+                    {ClassNode.class, Comparable.class},
+                    {StringHolder.class, AbstractHolder.class},
+                    {ClassH.class, IClass2.class},
+                    {Class2String.class, Class2String.class},
+            };
+            for (Class<?>[] query : queries) {
+                assertEquals(typeName(GenericsUtils.getGenericTypeFromClass(query[0], query[1], 0)),
+                        resolver.getGenericTypeFromClass(query[0].getName(), query[1].getName(), 0), Arrays.toString(query));
+                assertEquals(className(GenericsUtils.getGenericClassFromClass(query[0], query[1], 0)),
+                        resolver.getGenericClassFromClass(query[0].getName(), query[1].getName(), 0), Arrays.toString(query));
+            }
+            assertEquals("java.util.ArrayList<java.lang.String>", resolver.getGenericTypeFromClass(StringHolder.class.getName(), AbstractHolder.class.getName(), 1));
+
+            Map<String, String> superTypes = resolver.resolveSuperTypes(ClassH.class.getName());
+            assertEquals(GenericsUtils.resolveSuperTypes(ClassH.class).getRawSuperTypes().stream().map(Class::getName).collect(Collectors.toSet()), superTypes.keySet());
+            assertEquals(GenericsUtils.resolveSuperTypes(ClassH.class).getSuperType(IClassG.class).getTypeName(), superTypes.get(IClassG.class.getName()));
+            assertThrows(RuntimeException.class, () -> resolver.getGenericTypeFromClass(Class2String.class.getName(), IClass2.class.getName(), 1));
+            assertNull(resolver.getGenericTypeFromClass("org.genericsutils.Missing", IClass2.class.getName(), 0));
+        }
+    }
+
+    @Test
+    void resolveWithoutLoading() throws Exception {
+        SyntheticHierarchy hierarchy = SyntheticHierarchy.generate(4, 2, true, 1, 4, directory.resolve("classes"));
+        Path jar = directory.resolve("synthetic.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar)); Stream<Path> classFiles = Files.walk(directory.resolve("classes"))) {
+            for (Path classFile : classFiles.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                out.putNextEntry(new JarEntry(directory.resolve("classes").relativize(classFile).toString().replace('\\', '/')));
+                out.write(Files.readAllBytes(classFile));
+                out.closeEntry();
+            }
+        }
+        try (ClassFileGenericsResolver resolver = new ClassFileGenericsResolver(Collections.singletonList(jar))) {
+            List<String> leafClassNames = resolver.getClassNames().stream().filter(className -> className.contains("Leaf")).sorted().collect(Collectors.toList());
+            assertEquals(4, leafClassNames.size());
+            for (int i = 0; i <= leafClassNames.size() - 1; i++) {
+                Class<?> leafClass = hierarchy.getLeafClasses().get(i);
+                assertEquals(leafClass.getName(), leafClassNames.get(i));
+                String rootInterfaceName = hierarchy.getRootInterface(i).getName();
+                assertEquals(hierarchy.getExpectedRootArgument().getTypeName(), resolver.getGenericTypeFromClass(leafClass.getName(), rootInterfaceName, 0));
+                assertEquals(GenericsUtils.getGenericClassFromClass(leafClass, hierarchy.getRootInterface(i), 1).getName(), resolver.getGenericClassFromClass(leafClass.getName(), rootInterfaceName, 1));
+            }
+        }
+    }
+
+    private static String typeName(Type type) {
+        return type == null ? null : type.getTypeName();
+    }
+
+    private static String className(Class<?> clazz) {
+        return clazz == null ? null : clazz.getName();
+    }
+
+}
@@ -0,0 +1,58 @@
+package org.genericsutils;
+
+import org.genericsutils.GenericsUtilsTest.*;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenericResolverTest {
+
+    @Test
+    void resolve() {
+        GenericResolver iClass2 = GenericResolver.of(IClass2.class, 0);
+        assertSame(iClass2, GenericResolver.of(IClass2.class, 0));
+        assertEquals(IClass2.class, iClass2.getBaseClassWithGeneric());
+        assertEquals(0, iClass2.getGenericPosition());
+        assertEquals(String.class, iClass2.resolve(Class2String.class));
+        assertEquals(String.class, iClass2.resolveClass(ExtenededClass2StringExtendedAgainWithInteger.class));
+        assertEquals(String.class, iClass2.resolve(Class3StringInteger.class));
+        assertNull(iClass2.resolve(ClassH.class));
+        assertNull(iClass2.resolveClass(ClassH.class));
+
+        GenericResolver iClassH = GenericResolver.of(IClassH.class, 1);
+        assertEquals(Integer.class, iClassH.resolveClass(ClassH.class));
+        Type iClassF = GenericResolver.of(IClassF.class, 0).resolve(ClassH.class);
+        assertEquals(GenericsUtils.getGenericTypeFromClass(ClassH.class, IClassF.class, 0), iClassF);
+        assertEquals(IClassE.class, ((ParameterizedType) iClassF).getRawType());
+        assertEquals(IClassE.class, GenericResolver.of(IClassF.class, 0).resolveClass(ClassH.class));
+    }
+
+    @Test
+    void instanceFactory() {
+        Supplier<?> widgets = GenericsUtils.getGenericInstanceFactory(WidgetSource.class, IClassA.class, 0);
+        assertSame(widgets, GenericResolver.of(IClassA.class, 0).getInstanceFactory(WidgetSource.class));
+        Object widget = widgets.get();
+        assertEquals(Widget.class, widget.getClass());
+        assertNotSame(widget, widgets.get());
+        assertEquals(HiddenWidget.class, GenericsUtils.getGenericInstanceFactory(WidgetSource.class, IClassB.class, 0).get().getClass());
+        assertEquals(new ArrayList<>(), GenericsUtils.getGenericInstanceFactory(StringHolder.class, AbstractHolder.class, 1).get());
+        assertEquals("", GenericsUtils.getGenericInstanceFactory(Class2String.class, IClass2.class, 0).get());
+
+        assertNull(GenericsUtils.getGenericInstanceFactory(ClassH.class, IClass2.class, 0));
+        assertThrows(RuntimeException.class, () -> GenericsUtils.getGenericInstanceFactory(ClassLong.class, IClass2.class, 0));
+        assertThrows(RuntimeException.class, () -> GenericsUtils.getGenericInstanceFactory(ClassH.class, IClassF.class, 0));
+    }
+
+    @Test
+    void invalidPosition() {
+        assertThrows(RuntimeException.class, () -> GenericResolver.of(IClass2.class, 1));
+        assertThrows(RuntimeException.class, () -> GenericResolver.of(IClass2.class, -1));
+        assertThrows(RuntimeException.class, () -> GenericResolver.of(Class2String.class, 0));
+    }
+
+}
@@ -0,0 +1,146 @@
+package org.genericsutils;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.genericsutils.GenericsUtilsTest.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenericsMetricsTest {
+
+    @TempDir
+    Path recordingDirectory;
+
+    @BeforeEach
+    void setUp() {
+        GenericsMetrics.reset();
+        GenericsMetrics.setEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        GenericsMetrics.setEnabled(false);
+        GenericsMetrics.setListener(null);
+        GenericsMetrics.reset();
+        GenericsCache.setEnabled(true);
+    }
+
+    @Test
+    void countsLookupsAndTraversals() {
+        GenericsCache.setEnabled(false);
+        List<String> events = new ArrayList<>();
+        GenericsMetrics.setListener(new GenericsMetricsListener() {
+            @Override
+            public void lookupCompleted(GenericsMetrics.Operation operation, Type fromType, Class<?> baseClassWithGeneric, long durationNanos) {
+                events.add(operation + " " + fromType.getTypeName() + " " + baseClassWithGeneric.getSimpleName());
+            }
+
+            @Override
+            public void traversalCompleted(Type fromType, int nodesVisited, int depth) {
+                events.add("traversal " + nodesVisited + " " + depth);
+            }
+
+            @Override
+            public void parameterizedTypeConstructed(ParameterizedType parameterizedType) {
+                events.add("constructed " + parameterizedType.getTypeName());
+            }
+        });
+
+        assertEquals(String.class, GenericsUtils.getGenericClassFromClass(Class2String.class, IClass2.class, 0));
+
+        assertEquals(1, GenericsMetrics.getCalls(GenericsMetrics.Operation.GET_GENERIC_CLASS_FROM_CLASS));
+        assertEquals(0, GenericsMetrics.getCalls(GenericsMetrics.Operation.GET_GENERIC_TYPE_FROM_CLASS));
+        assertEquals(1, Arrays.stream(GenericsMetrics.getLatencyHistogram(GenericsMetrics.Operation.GET_GENERIC_CLASS_FROM_CLASS)).sum());
+        assertEquals(1, GenericsMetrics.getTraversals());
+        assertEquals(2, GenericsMetrics.getNodesVisited());
+        assertEquals(2, GenericsMetrics.getMaxDepth());
+        assertEquals(0, GenericsMetrics.getCacheLookups());
+        assertTrue(GenericsMetrics.getParameterizedTypesConstructed() >= 1);
+        assertEquals("traversal 2 2", events.get(events.size() - 2));
+        assertEquals("GET_GENERIC_CLASS_FROM_CLASS " + Class2String.class.getTypeName() + " IClass2", events.get(events.size() - 1));
+        assertTrue(events.contains("constructed " + IClass2.class.getTypeName() + "<java.lang.String>"));
+    }
+
+    @Test
+    void countsCacheHitsAndMisses() {
+        GenericsCache.clear();
+        GenericsUtils.getGenericTypeFromClass(ClassH.class, IClassE.class, 0);
+        long misses = GenericsMetrics.getCacheMisses();
+        assertTrue(misses >= 1);
+        assertEquals(GenericsMetrics.getCacheLookups() - misses, GenericsMetrics.getCacheHits());
+        assertEquals(3, GenericsMetrics.getMaxDepth());
+
+        GenericsUtils.getGenericTypeFromClass(ClassH.class, IClassE.class, 0);
+        assertEquals(misses, GenericsMetrics.getCacheMisses());
+        assertEquals(2, GenericsMetrics.getCalls(GenericsMetrics.Operation.GET_GENERIC_TYPE_FROM_CLASS));
+    }
+
+    @Test
+    void disabledRecordsNothing() {
+        GenericsMetrics.setEnabled(false);
+        GenericsCache.clear();
+        GenericsMetrics.setListener(new GenericsMetricsListener() {
+            @Override
+            public void lookupCompleted(GenericsMetrics.Operation operation, Type fromType, Class<?> baseClassWithGeneric, long durationNanos) {
+                fail("Listener called while disabled");
+            }
+        });
+        GenericsUtils.getGenericClassFromClass(ClassH.class, IClassH.class, 1);
+        GenericsUtils.resolveMembers(Class2String.class);
+        for (GenericsMetrics.Operation operation : GenericsMetrics.Operation.values()) {
+            assertEquals(0, GenericsMetrics.getCalls(operation));
+        }
+        assertEquals(0, GenericsMetrics.getCacheLookups());
+        assertEquals(0, GenericsMetrics.getTraversals());
+        assertEquals(0, GenericsMetrics.getParameterizedTypesConstructed());
+    }
+
+    @Test
+    void latencyBuckets() {
+        assertEquals(0, GenericsMetrics.getLatencyBucket(0));
+        assertEquals(0, GenericsMetrics.getLatencyBucket(1));
+        assertEquals(1, GenericsMetrics.getLatencyBucket(3));
+        assertEquals(10, GenericsMetrics.getLatencyBucket(1024));
+        assertEquals(62, GenericsMetrics.getLatencyBucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    void recordsJfrEvents() throws Exception {
+        GenericsMetrics.setListener(new JfrGenericsMetricsListener());
+        GenericsCache.clear();
+        Path recordingFile = recordingDirectory.resolve("generics.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.genericsutils.Lookup");
+            recording.enable("org.genericsutils.CacheMiss");
+            recording.enable("org.genericsutils.Traversal");
+            recording.start();
+            GenericsUtils.getGenericClassFromClass(ClassH.class, IClassH.class, 1);
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+        List<String> eventNames = new ArrayList<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+            eventNames.add(event.getEventType().getName());
+            if (event.getEventType().getName().equals("org.genericsutils.Lookup")) {
+                assertEquals("GET_GENERIC_CLASS_FROM_CLASS", event.getString("operation"));
+                assertEquals(ClassH.class.getTypeName(), event.getString("fromType"));
+            }
+        }
+        assertTrue(eventNames.contains("org.genericsutils.Lookup"));
+        assertTrue(eventNames.contains("org.genericsutils.CacheMiss"));
+        assertTrue(eventNames.contains("org.genericsutils.Traversal"));
+    }
+
+}
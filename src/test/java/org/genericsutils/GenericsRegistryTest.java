@@ -0,0 +1,68 @@
+package org.genericsutils;
+
+import org.genericsutils.GenericsUtilsTest.*;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenericsRegistryTest {
+
+    @Test
+    void findsClassesByTypeArguments() {
+        GenericsRegistry registry = new GenericsRegistry();
+        registry.registerAll(Arrays.asList(Class2String.class, ExtendsClass2String.class, Class3StringInteger.class, ClassLong.class, AbstractClass2.class, ClassH.class));
+        registry.register(Class2String.class);
+
+        assertEquals(new HashSet<>(Arrays.asList(Class2String.class, ExtendsClass2String.class, Class3StringInteger.class)),
+                registry.getClasses(IClass2.class, String.class));
+        assertEquals(Collections.singleton(ClassLong.class), registry.getClasses(IClass2.class, Long.class));
+        assertEquals(Collections.singleton(AbstractClass2.class), registry.getClasses(IClass2.class, AbstractClass2.class.getTypeParameters()[0]));
+        assertEquals(Collections.singleton(Class3StringInteger.class), registry.getClasses(IClass3.class, String.class, Integer.class));
+        assertTrue(registry.getClasses(IClass3.class, Integer.class, String.class).isEmpty());
+        assertEquals(5, registry.getClasses(IClass2.class).size());
+        assertEquals(6, registry.getRegisteredClasses().size());
+
+        Type iClassEString = GenericsUtils.resolveSuperTypes(ClassH.class).getSuperType(IClassE.class);
+        assertEquals(Collections.singleton(ClassH.class), registry.getClasses(iClassEString));
+        Type iClassGOfD = GenericsUtils.resolveSuperTypes(ClassH.class).getSuperType(IClassG.class);
+        assertEquals(Collections.singleton(ClassH.class), registry.getClasses(IClassG.class, ((ParameterizedType) iClassGOfD).getActualTypeArguments()));
+    }
+
+    @Test
+    void indexesOnlyGivenBaseClasses() {
+        GenericsRegistry registry = new GenericsRegistry(IClass3.class);
+        registry.registerAll(Arrays.asList(Class2String.class, Class3StringInteger.class));
+        assertTrue(registry.getClasses(IClass2.class, String.class).isEmpty());
+        assertEquals(Collections.singleton(Class3StringInteger.class), registry.getClasses(IClass3.class));
+        assertEquals(2, registry.getRegisteredClasses().size());
+    }
+
+    @Test
+    void readsWhileRegistering() throws Exception {
+        GenericsRegistry registry = new GenericsRegistry(IClass2.class);
+        Set<Class<?>> strings = registry.getClasses(IClass2.class, String.class);
+        assertTrue(strings.isEmpty());
+        List<Class<?>> classes = Arrays.asList(Class2String.class, ExtendsClass2String.class, Class3StringInteger.class, ClassLong.class);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Class<?> clazz : classes) {
+                futures.add(executor.submit(() -> registry.register(clazz)));
+                futures.add(executor.submit(() -> registry.getClasses(IClass2.class, Long.class).size()));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(3, registry.getClasses(IClass2.class, String.class).size());
+        assertEquals(Collections.singleton(ClassLong.class), registry.getClasses(IClass2.class, Long.class));
+    }
+
+}
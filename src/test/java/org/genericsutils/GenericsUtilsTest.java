@@ -3,13 +3,21 @@ package org.genericsutils;
 import org.junit.jupiter.api.Test;
 import sun.reflect.generics.reflectiveObjects.TypeVariableImpl;
 
+import java.io.Serializable;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -173,7 +181,7 @@ class GenericsUtilsTest {
 
         Collection<Type> iClassSTUExtends = GenericsUtils.extendsClassesAndInterfaces(IClassSTU.class);
         assertEquals(2, iClassSTUExtends.size());
-        Type[] iClassSTUExtendsTypes = (Type[])iClassSTUExtends.toArray();
+        Type[] iClassSTUExtendsTypes = iClassSTUExtends.toArray(new Type[0]);
         ParameterizedType iClassSTUExtendsType0 = (ParameterizedType)iClassSTUExtendsTypes[0];
         ParameterizedType iClassSTUExtendsType1 = (ParameterizedType)iClassSTUExtendsTypes[1];
         assertEquals(IClassZ.class, iClassSTUExtendsType0.getRawType());
@@ -229,6 +237,330 @@ class GenericsUtilsTest {
 
     }
 
+    @Test
+    void getGenericClassFromClassThroughDiamondsAndMisses() {
+        assertEquals(String.class, GenericsUtils.getGenericTypeFromClass(ClassDiamond.class, IDiamondTop.class, 0));
+        assertEquals(String.class, GenericsUtils.getGenericTypeFromClass(ClassDiamond.class, IDiamondRight.class, 0));
+        assertEquals(Long.class, GenericsUtils.getGenericTypeFromClass(ClassLong.class, IClass2.class, 0));
+        assertEquals(Long.class, GenericsUtils.getGenericTypeFromClass(ClassLong.class, AbstractClass2.class, 0));
+
+        assertNull(GenericsUtils.getGenericTypeFromClass(ClassDiamond.class, IClass2.class, 0));
+        assertNull(GenericsUtils.getGenericTypeFromClass(ClassG.class, IClassD.class, 0));
+        assertNull(GenericsUtils.getGenericTypeFromClass(Class2String.class, IClass3.class, 0));
+    }
+
+    @Test
+    void getGenericClassFromClassMisses() {
+        assertNull(GenericsUtils.getGenericClassFromClass(ClassDiamond.class, IClass2.class, 0));
+        assertNull(GenericsUtils.getGenericClassFromClass(IClass2.class, IClass2.class, 0));
+        assertNull(GenericsUtils.getGenericClassFromClass(int.class, IClass2.class, 0));
+        assertNull(GenericsUtils.getGenericTypeFromClass(Class2String.class.getGenericSuperclass(), IClassA.class, 0));
+        assertNull(GenericsUtils.getGenericTypeFromClass(Class2String.class.getGenericSuperclass(), AbstractClass2.class, 0));
+        assertEquals(String.class, GenericsUtils.getGenericTypeFromClass(Class2String.class.getGenericSuperclass(), IClass2.class, 0));
+        GenericsCache.setEnabled(false);
+        try {
+            assertNull(GenericsUtils.getGenericClassFromClass(ExtenededClass2StringExtendedAgainWithInteger.class, IClassSTU.class, 0));
+        } finally {
+            GenericsCache.setEnabled(true);
+        }
+    }
+
+    @Test
+    void resolveSuperTypes() {
+        ResolvedSuperTypes classH = GenericsUtils.resolveSuperTypes(ClassH.class);
+        assertEquals(ClassH.class, classH.getType());
+        assertEquals(4, classH.getRawSuperTypes().size());
+        assertArrayEquals(new Type[]{String.class, Integer.class}, classH.getTypeArguments(IClassH.class));
+        assertEquals(String.class, classH.getTypeArgument(IClassE.class, 0));
+        ParameterizedType iClassD = (ParameterizedType) classH.getTypeArgument(IClassG.class, 0);
+        assertEquals(IClassD.class, iClassD.getRawType());
+        assertArrayEquals(new Type[]{Integer.class}, iClassD.getActualTypeArguments());
+        assertEquals(GenericsUtils.getGenericTypeFromClass(ClassH.class, IClassF.class, 0), classH.getTypeArgument(IClassF.class, 0));
+        assertFalse(classH.contains(IClassA.class));
+        assertNull(classH.getTypeArguments(IClassA.class));
+        assertNull(classH.getTypeArgument(IClassA.class, 0));
+
+        ResolvedSuperTypes extended = GenericsUtils.resolveSuperTypes(ExtenededClass2StringExtendedAgainWithInteger.class);
+        assertTrue(extended.contains(Class2String.class));
+        assertEquals(0, extended.getTypeArguments(Class2String.class).length);
+        assertEquals(Integer.class, extended.getTypeArgument(Class2StringExtended.class, 0));
+        assertEquals(String.class, extended.getTypeArgument(AbstractClass2.class, 0));
+        assertEquals(String.class, extended.getTypeArgument(IClass2.class, 0));
+        assertTrue(extended.contains(IClass1.class));
+        assertSame(extended, GenericsUtils.resolveSuperTypes(ExtenededClass2StringExtendedAgainWithInteger.class));
+        assertThrows(RuntimeException.class, () -> extended.getTypeArgument(IClass2.class, 1));
+    }
+
+    @Test
+    void composedSuperTypesMatchWalkedSuperTypes() {
+        for (Class<?> fromClass : Arrays.asList(ClassH.class, ClassG.class, ClassSTU.class, ClassDiamond.class, ClassLong.class, ClassNode.class,
+                ExtenededClass2StringExtendedAgainWithInteger.class, Class3StringInteger.class, ImplementsAndExtends.class, IClassSTU.class)) {
+            assertEquals(GenericsUtils.findAllSuperTypes(fromClass).getSuperTypesByRawClass(), GenericsUtils.composeAllSuperTypes(fromClass).getSuperTypesByRawClass());
+        }
+    }
+
+    @Test
+    void resolvedParameterizedType() {
+        Type reflected = IClass3StringInteger.class.getGenericInterfaces()[0];
+        ResolvedParameterizedType resolved = ResolvedParameterizedType.make(IClass3.class, new Type[]{String.class, Integer.class}, null);
+        assertEquals(reflected, resolved);
+        assertEquals(resolved, reflected);
+        assertEquals(reflected.hashCode(), resolved.hashCode());
+        assertEquals(reflected.getTypeName(), resolved.getTypeName());
+        assertEquals(GenericsUtilsTest.class, resolved.getOwnerType());
+        assertSame(resolved, ResolvedParameterizedType.make(IClass3.class, new Type[]{String.class, Integer.class}, GenericsUtilsTest.class));
+        assertNotEquals(resolved, ResolvedParameterizedType.make(IClass3.class, new Type[]{Integer.class, String.class}, null));
+        assertThrows(RuntimeException.class, () -> ResolvedParameterizedType.make(IClass3.class, new Type[]{String.class}, null));
+
+        Type[] actualTypeArguments = resolved.getActualTypeArguments();
+        actualTypeArguments[0] = Long.class;
+        assertEquals(String.class, resolved.getActualTypeArguments()[0]);
+
+        GenericsCache.clear();
+        Type iClassE = GenericsUtils.getGenericTypeFromClass(ClassG.class, IClassF.class, 0);
+        GenericsCache.clear();
+        assertSame(iClassE, GenericsUtils.getGenericTypeFromClass(ClassG.class, IClassF.class, 0));
+    }
+
+    @Test
+    void getGenericTypeFromClassWithSelfReferencingGenerics() {
+        Type comparable = GenericsUtils.getGenericTypeFromClass(ClassNode.class, Comparable.class, 0);
+        assertEquals(ResolvedParameterizedType.make(INode.class, new Type[]{ClassNode.class}, null), comparable);
+        assertEquals(ClassNode.class, GenericsUtils.getGenericClassFromClass(ClassNode.class, INode.class, 0));
+    }
+
+    @Test
+    void substitutionKeepsConcreteSuperTypes() {
+        Type iClass2 = GenericsUtils.resolveSuperTypes(IClass3StringInteger.class).getSuperType(IClass2.class);
+        assertSame(iClass2, GenericsUtils.resolveSuperTypes(Class3StringInteger.class).getSuperType(IClass2.class));
+        Collection<Type> concrete = GenericsUtils.implementsInterfaces(ResolvedParameterizedType.make(IClassAB.class, new Type[]{String.class, Integer.class}, null));
+        assertTrue(concrete.contains(ResolvedParameterizedType.make(IClassA.class, new Type[]{String.class}, null)));
+        Type iClassX = GenericsUtils.getGenericTypeFromClass(IClassSTU.class, IClassX.class, 0);
+        assertTrue(iClassX instanceof TypeVariable);
+        assertEquals("U", iClassX.getTypeName());
+        assertEquals(IClassSTU.class, ((TypeVariable<?>) iClassX).getGenericDeclaration());
+    }
+
+    @Test
+    void getGenericClassFromGeneratedTable() {
+        assertEquals(Integer.class, GeneratedGenericsTables.getGenericClass(ClassABStringInteger.class, IClassB.class, 0));
+        assertEquals(Integer.class, GenericsUtils.getGenericClassFromClass(ClassABStringInteger.class, IClassB.class, 0));
+        assertEquals(String.class, GenericsUtils.getGenericClassFromClass(ClassABStringInteger.class, IClassAB.class, 0));
+        assertNull(GeneratedGenericsTables.getGenericClass(ClassABStringInteger.class, IClassAB.class, 2));
+        assertNull(GeneratedGenericsTables.getGenericClass(ClassNode.class, Comparable.class, 0));
+        assertEquals(INode.class, GenericsUtils.getGenericClassFromClass(ClassNode.class, Comparable.class, 0));
+        assertNull(GeneratedGenericsTables.getGenericClass(ClassH.class, IClassH.class, 0));
+        assertEquals(String.class, GenericsUtils.getGenericClassFromClass(ClassH.class, IClassH.class, 0));
+    }
+
+    @Test
+    void resolveMembers() throws Exception {
+        ResolvedMembers stringHolder = GenericsUtils.resolveMembers(StringHolder.class);
+        assertEquals(StringHolder.class, stringHolder.getType());
+        assertEquals(String.class, stringHolder.getFieldType(AbstractHolder.class.getDeclaredField("value")));
+        assertEquals(String[].class, stringHolder.getFieldType(AbstractHolder.class.getDeclaredField("array")));
+        assertEquals(Integer.class, stringHolder.getFieldType(StringHolder.class.getDeclaredField("count")));
+        assertEquals(ResolvedParameterizedType.make(ArrayList.class, new Type[]{String.class}, null), stringHolder.getFieldType(AbstractHolder.class.getDeclaredField("list")));
+
+        ParameterizedType values = (ParameterizedType) stringHolder.getFieldType(AbstractHolder.class.getDeclaredField("values"));
+        assertEquals(Collection.class, values.getRawType());
+        WildcardType valuesWildcard = (WildcardType) values.getActualTypeArguments()[0];
+        assertArrayEquals(new Type[]{String.class}, valuesWildcard.getUpperBounds());
+        assertEquals("java.util.Collection<? extends java.lang.String>", values.getTypeName());
+
+        GenericArrayType lists = (GenericArrayType) stringHolder.getFieldType(AbstractHolder.class.getDeclaredField("lists"));
+        assertEquals(ResolvedParameterizedType.make(List.class, new Type[]{String.class}, null), lists.getGenericComponentType());
+
+        Method get = AbstractHolder.class.getDeclaredMethod("get", Map.class);
+        assertEquals(String.class, stringHolder.getReturnType(get));
+        assertArrayEquals(new Type[]{ResolvedParameterizedType.make(Map.class, new Type[]{Integer.class, String.class}, null)}, stringHolder.getParameterTypes(get));
+        Method convert = AbstractHolder.class.getDeclaredMethod("convert", Object.class);
+        assertEquals(convert.getTypeParameters()[0], stringHolder.getReturnType(convert));
+        assertTrue(stringHolder.getMethods().contains(StringHolder.class.getDeclaredMethod("get", Map.class)));
+
+        ResolvedMembers abstractHolder = GenericsUtils.resolveMembers(AbstractHolder.class);
+        assertEquals(AbstractHolder.class.getTypeParameters()[0], abstractHolder.getFieldType(AbstractHolder.class.getDeclaredField("value")));
+        assertNull(abstractHolder.getFieldType(StringHolder.class.getDeclaredField("count")));
+        assertSame(stringHolder, GenericsUtils.resolveMembers(StringHolder.class));
+
+        assertEquals(values, GenericsUtils.resolveMemberType(StringHolder.class, AbstractHolder.class.getDeclaredField("values").getGenericType()));
+    }
+
+    @Test
+    void getGenericClassFromClassErasure() throws Exception {
+        assertEquals(Object.class, GenericsUtils.getGenericClassFromClass(AbstractClass2.class, IClass2.class, 0));
+        assertEquals(Number.class, GenericsUtils.getGenericClassFromClass(AbstractNumberClass2.class, IClass2.class, 0));
+        assertEquals(List[].class, GenericsUtils.getGenericClassFromClass(ClassListArray.class, IClass2.class, 0));
+
+        Type values = AbstractHolder.class.getDeclaredField("values").getGenericType();
+        Type wildcard = ((ParameterizedType) values).getActualTypeArguments()[0];
+        assertEquals(Object.class, GenericsUtils.getRawClass(wildcard));
+        assertEquals(List.class, GenericsUtils.getRawClass(AbstractHolder.class.getTypeParameters()[1]));
+        assertEquals(List[].class, GenericsUtils.getRawClass(AbstractHolder.class.getDeclaredField("lists").getGenericType()));
+        assertEquals(INode.class, GenericsUtils.getRawClass(INode.class.getTypeParameters()[0]));
+
+        Type numberTypeVariable = AbstractNumberClass2.class.getTypeParameters()[0];
+        assertEquals(GenericsUtils.extendsClassesAndInterfaces(Number.class), GenericsUtils.extendsClassesAndInterfaces(numberTypeVariable));
+        assertEquals(GenericsUtils.implementsInterfaces(Object.class), GenericsUtils.implementsInterfaces(wildcard));
+    }
+
+    @Test
+    void getGenericClassesFromClass() {
+        GenericQuery[] queries = {
+                GenericQuery.of(IClassH.class, 0),
+                GenericQuery.of(IClassH.class, 1),
+                GenericQuery.of(IClassE.class, 0),
+                GenericQuery.of(IClassF.class, 0),
+                GenericQuery.of(IClass2.class, 0)
+        };
+        assertArrayEquals(new Class<?>[]{String.class, Integer.class, String.class, IClassE.class, null}, GenericsUtils.getGenericClassesFromClass(ClassH.class, queries));
+
+        Class<?>[] flat = GenericsUtils.getGenericClassesFromClasses(Arrays.asList(ClassH.class, Class3StringInteger.class), queries);
+        assertEquals(10, flat.length);
+        assertArrayEquals(new Class<?>[]{null, null, null, null, String.class}, Arrays.copyOfRange(flat, 5, 10));
+
+        Type[] types = GenericsUtils.getGenericTypesFromTypes(Arrays.asList(ClassH.class, Class3StringInteger.class.getGenericSuperclass()), queries);
+        for (int q = 0; q <= queries.length - 1; q++) {
+            assertEquals(GenericsUtils.getGenericTypeFromClass(ClassH.class, queries[q].getBaseClassWithGeneric(), queries[q].getGenericPosition()), types[q]);
+        }
+        assertEquals(String.class, types[9]);
+
+        assertEquals(GenericQuery.of(IClass3.class, 1), GenericQuery.of(IClass3.class, 1));
+        assertThrows(RuntimeException.class, () -> GenericQuery.of(IClass3.class, 2));
+    }
+
+    @Test
+    void streamSuperTypes() {
+        List<Type> superTypes = GenericsUtils.streamSuperTypes(ClassH.class).collect(Collectors.toList());
+        assertEquals(Arrays.asList(
+                GenericsUtils.resolveSuperTypes(ClassH.class).getSuperType(IClassH.class),
+                GenericsUtils.resolveSuperTypes(ClassH.class).getSuperType(IClassG.class),
+                GenericsUtils.resolveSuperTypes(ClassH.class).getSuperType(IClassE.class),
+                GenericsUtils.resolveSuperTypes(ClassH.class).getSuperType(IClassF.class)), superTypes);
+        assertEquals("org.genericsutils.GenericsUtilsTest$IClassE<java.lang.String>", superTypes.get(2).getTypeName());
+
+        List<Type> pulled = new ArrayList<>();
+        assertTrue(GenericsUtils.streamSuperTypes(ClassDiamond.class)
+                .peek(pulled::add)
+                .anyMatch(type -> type.getTypeName().contains("IDiamondLeft")));
+        assertEquals(2, pulled.size());
+
+        assertEquals(4, GenericsUtils.streamSuperTypes(ClassDiamond.class).count());
+        assertEquals(0, GenericsUtils.streamSuperTypes(Object.class).count());
+        assertEquals(IClass2.class, ((ParameterizedType) GenericsUtils.findClassIn(IClass2.class,
+                GenericsUtils.streamSuperTypes(Class2String.class).collect(Collectors.toList()))).getRawType());
+    }
+
+    @Test
+    void getGenericClassFromLambda() {
+        ISerializableFunction<String, Integer> length = String::length;
+        assertEquals(String.class, GenericsUtils.getGenericClassFromLambda(length, Function.class, 0));
+        assertEquals(Integer.class, GenericsUtils.getGenericClassFromLambda(length, Function.class, 1));
+        assertEquals(Integer.class, GenericsUtils.getGenericTypeFromLambda(length, ISerializableFunction.class, 1));
+        assertNull(GenericsUtils.getGenericTypeFromLambda(length, IClass2.class, 0));
+
+        ISerializableFunction<String, List<String>> split = GenericsUtilsTest::split;
+        Type splitType = GenericsUtils.getGenericTypeFromLambda(split, Function.class, 1);
+        assertEquals(List.class, ((ParameterizedType) splitType).getRawType());
+        assertEquals(String.class, ((ParameterizedType) splitType).getActualTypeArguments()[0]);
+
+        String prefix = "a";
+        ISerializableFunction<String, Boolean> startsWith = prefix::startsWith;
+        assertEquals(Boolean.class, GenericsUtils.getGenericClassFromLambda(startsWith, Function.class, 1));
+        ISerializableFunction<List<String>, Integer> size = list -> list.size() + prefix.length();
+        assertEquals(List.class, GenericsUtils.getGenericClassFromLambda(size, Function.class, 0));
+        assertEquals(Integer.class, GenericsUtils.getGenericClassFromLambda(size, Function.class, 1));
+        Supplier<ArrayList<String>> lists = (Supplier<ArrayList<String>> & Serializable) ArrayList::new;
+        assertEquals(ArrayList.class, GenericsUtils.getGenericClassFromLambda(lists, Supplier.class, 0));
+
+        IStringLength fixedLength = String::length;
+        assertEquals(String.class, GenericsUtils.getGenericClassFromLambda(fixedLength, Function.class, 0));
+        IListMapper<Long> first = list -> list.get(0);
+        assertEquals(Long.class, GenericsUtils.getGenericClassFromLambda(first, Function.class, 1));
+        assertEquals(List.class, GenericsUtils.getGenericClassFromLambda(first, Function.class, 0));
+
+        Function<String, Integer> notSerializable = String::length;
+        assertTrue(GenericsUtils.getGenericTypeFromLambda(notSerializable, Function.class, 0) instanceof TypeVariable);
+        assertEquals(Object.class, GenericsUtils.getGenericClassFromLambda(notSerializable, Function.class, 0));
+
+        assertSame(GenericsUtils.resolveLambdaSuperTypes(startsWith("a")), GenericsUtils.resolveLambdaSuperTypes(startsWith("b")));
+        assertEquals(String.class, GenericsUtils.getGenericClassFromLambda(new Class2String(), IClass2.class, 0));
+    }
+
+    private static ISerializableFunction<String, Boolean> startsWith(String prefix) {
+        return prefix::startsWith;
+    }
+
+    @Test
+    void isAssignable() throws Exception {
+        Type strings = AssignabilityTargets.class.getDeclaredField("strings").getGenericType();
+        Type charSequences = AssignabilityTargets.class.getDeclaredField("charSequences").getGenericType();
+        Type superStrings = AssignabilityTargets.class.getDeclaredField("superStrings").getGenericType();
+        Type objects = AssignabilityTargets.class.getDeclaredField("objects").getGenericType();
+        Type anything = AssignabilityTargets.class.getDeclaredField("anything").getGenericType();
+        Type numbers = AssignabilityTargets.class.getDeclaredField("numbers").getGenericType();
+        Type stringLists = AssignabilityTargets.class.getDeclaredField("stringLists").getGenericType();
+        Type collectionLists = AssignabilityTargets.class.getDeclaredField("collectionLists").getGenericType();
+
+        for (boolean cacheEnabled : new boolean[]{true, false}) {
+            GenericsCache.setEnabled(cacheEnabled);
+            assertTrue(GenericsUtils.isAssignable(Class2StringExtended.class, strings));
+            assertTrue(GenericsUtils.isAssignable(Class2StringExtended.class, ResolvedParameterizedType.make(IClass2.class, new Type[]{String.class}, null)));
+            assertTrue(GenericsUtils.isAssignable(Class2StringExtended.class, charSequences));
+            assertTrue(GenericsUtils.isAssignable(Class2StringExtended.class, superStrings));
+            assertTrue(GenericsUtils.isAssignable(Class2StringExtended.class, anything));
+            assertTrue(GenericsUtils.isAssignable(Class2StringExtended.class, IClass1.class));
+            assertFalse(GenericsUtils.isAssignable(Class2StringExtended.class, objects));
+            assertFalse(GenericsUtils.isAssignable(ClassLong.class, charSequences));
+            assertFalse(GenericsUtils.isAssignable(ClassH.class, strings));
+
+            assertTrue(GenericsUtils.isAssignable(Class3StringInteger.class, numbers));
+            assertTrue(GenericsUtils.isAssignable(Class3StringInteger.class.getGenericSuperclass(), numbers));
+            assertTrue(GenericsUtils.isAssignable(strings, charSequences));
+            assertFalse(GenericsUtils.isAssignable(charSequences, strings));
+            assertTrue(GenericsUtils.isAssignable(charSequences, anything));
+            assertFalse(GenericsUtils.isAssignable(superStrings, charSequences));
+
+            assertTrue(GenericsUtils.isAssignable(AbstractClass2.class, anything));
+            assertFalse(GenericsUtils.isAssignable(AbstractClass2.class, strings));
+            assertTrue(GenericsUtils.isAssignable(AbstractNumberClass2.class.getTypeParameters()[0], Number.class));
+            assertFalse(GenericsUtils.isAssignable(AbstractNumberClass2.class.getTypeParameters()[0], Integer.class));
+
+            assertTrue(GenericsUtils.isAssignable(stringLists, collectionLists));
+            assertFalse(GenericsUtils.isAssignable(collectionLists, stringLists));
+            assertTrue(GenericsUtils.isAssignable(stringLists, Object[].class));
+            assertTrue(GenericsUtils.isAssignable(String[].class, CharSequence[].class));
+            assertFalse(GenericsUtils.isAssignable(int[].class, Object[].class));
+        }
+        GenericsCache.setEnabled(true);
+    }
+
+    @Test
+    void getGenericClassFromClassCached() {
+        GenericsCache.clear();
+        Type first = GenericsUtils.getGenericTypeFromClass(ClassG.class, IClassF.class, 0);
+        Type second = GenericsUtils.getGenericTypeFromClass(ClassG.class, IClassF.class, 0);
+        assertSame(first, second);
+        assertEquals(Integer.class, GenericsUtils.getGenericClassFromClass(Class2StringExtendedAgainWithInteger.class, Class2StringExtended.class, 0));
+        assertEquals(String.class, GenericsUtils.getGenericClassFromClass(Class2StringExtendedAgainWithInteger.class, AbstractClass2.class, 0));
+
+        GenericsCache.clear();
+        ResolvedSuperTypes beforeClear = GenericsUtils.resolveSuperTypes(ClassG.class);
+        GenericsCache.clear();
+        ResolvedSuperTypes afterClear = GenericsUtils.resolveSuperTypes(ClassG.class);
+        assertNotSame(beforeClear, afterClear);
+        assertEquals(first, afterClear.getTypeArgument(IClassF.class, 0));
+
+        GenericsCache.setEnabled(false);
+        try {
+            assertFalse(GenericsCache.isEnabled());
+            assertNotSame(GenericsUtils.resolveSuperTypes(ClassG.class), GenericsUtils.resolveSuperTypes(ClassG.class));
+            assertEquals(first, GenericsUtils.getGenericTypeFromClass(ClassG.class, IClassF.class, 0));
+        } finally {
+            GenericsCache.setEnabled(true);
+        }
+    }
+
 
     private static Map<Class<?>, Collection<Class<?>>> extractGenericInterfacesClasses(Collection<Type> implementedInterfaces) throws Exception {
         Map<Class<?>, Collection<Class<?>>> response = new HashMap<>();
@@ -300,4 +632,49 @@ class GenericsUtilsTest {
     public interface IClassH<Z, Y> extends IClassG<IClassD<Y>>, IClassE<Z> {}
     public class ClassH implements IClassH<String, Integer> {}
 
+    public interface IDiamondTop<T> {}
+    public interface IDiamondLeft<L> extends IDiamondTop<L> {}
+    public interface IDiamondRight<R> extends IDiamondTop<R> {}
+    public interface IDiamondBottom<B> extends IDiamondLeft<B>, IDiamondRight<B> {}
+    public class ClassDiamond implements IDiamondBottom<String> {}
+    public abstract class AbstractNumberClass2<N extends Number> implements IClass2<N> {}
+    public class ClassListArray implements IClass2<List<String>[]> {}
+    public abstract class AbstractClass2WithMarker<X> extends AbstractClass2<X> implements IClass1A {}
+    public class ClassLong extends AbstractClass2WithMarker<Long> {}
+    public interface INode<N extends INode<N>> extends Comparable<INode<N>> {}
+    public abstract class ClassNode implements INode<ClassNode> {}
+
+    public abstract static class AssignabilityTargets {
+        public IClass2<String> strings;
+        public IClass2<? extends CharSequence> charSequences;
+        public IClass2<? super String> superStrings;
+        public IClass2<Object> objects;
+        public IClass2<?> anything;
+        public IClass3<String, ? extends Number> numbers;
+        public List<String>[] stringLists;
+        public Collection<? extends CharSequence>[] collectionLists;
+    }
+
+    public abstract static class AbstractHolder<T, L extends List<T>> {
+        public T value;
+        public T[] array;
+        public L list;
+        public Collection<? extends T> values;
+        public List<T>[] lists;
+        public abstract T get(Map<Integer, T> byIndex);
+        public abstract <R> R convert(T from);
+    }
+    public interface ISerializableFunction<T, R> extends Function<T, R>, Serializable {}
+    public interface IStringLength extends ISerializableFunction<String, Integer> {}
+    public interface IListMapper<E> extends ISerializableFunction<List<E>, E> {}
+    static List<String> split(String value) { return Arrays.asList(value.split(",")); }
+    public static class Widget {}
+    public static class HiddenWidget { private HiddenWidget() {} }
+    public static class WidgetSource implements IClassAB<Widget, HiddenWidget> {}
+    public static class StringHolder extends AbstractHolder<String, ArrayList<String>> {
+        public Integer count;
+        public String get(Map<Integer, String> byIndex) { return byIndex.get(count); }
+        public <R> R convert(String from) { return null; }
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package org.genericsutils;
+
+import org.genericsutils.GenericsUtilsTest.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenericsWarmUpTest {
+
+    @Test
+    void warmUpClasses() {
+        GenericsCache.clear();
+        GenericsSnapshot snapshot = GenericsWarmUp.warmUp(Arrays.asList(ClassH.class, Class3StringInteger.class, ClassLong.class));
+        assertTrue(snapshot.contains(ClassH.class));
+        assertTrue(snapshot.contains(IClassG.class));
+        assertTrue(snapshot.contains(AbstractClass3.class));
+        assertFalse(snapshot.contains(Class2String.class));
+        assertSame(GenericsUtils.resolveSuperTypes(ClassH.class), snapshot.resolveSuperTypes(ClassH.class));
+
+        GenericsCache.clear();
+        assertEquals(Integer.class, snapshot.getGenericClassFromClass(ClassH.class, IClassH.class, 1));
+        assertEquals(GenericsUtils.getGenericTypeFromClass(ClassH.class, IClassF.class, 0), snapshot.getGenericTypeFromClass(ClassH.class, IClassF.class, 0));
+        assertEquals(String.class, snapshot.getGenericTypeFromClass(Class3StringInteger.class, IClass2.class, 0));
+        assertEquals(Long.class, snapshot.getGenericClassFromClass(ClassLong.class, IClass2.class, 0));
+        assertNull(snapshot.getGenericClassFromClass(ClassLong.class, IClass3.class, 0));
+        assertEquals(String.class, snapshot.getGenericClassFromClass(Class2String.class, IClass2.class, 0));
+        assertThrows(RuntimeException.class, () -> snapshot.getGenericTypeFromClass(ClassLong.class, IClass2.class, 1));
+    }
+
+    @Test
+    void warmUpPackage() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            GenericsSnapshot fromPool = GenericsWarmUp.warmUp(Arrays.asList(Class2String.class, ClassDiamond.class), pool);
+            assertEquals(String.class, fromPool.getGenericClassFromClass(ClassDiamond.class, IDiamondTop.class, 0));
+        } finally {
+            pool.shutdown();
+        }
+
+        GenericsSnapshot snapshot = GenericsWarmUp.warmUpPackage(GenericsUtilsTest.class.getPackage().getName(), getClass().getClassLoader());
+        assertTrue(snapshot.contains(ClassSTU.class));
+        assertTrue(snapshot.contains(GenericsUtils.class));
+        assertEquals(Boolean.class, snapshot.getGenericClassFromClass(ClassSTU.class, IClassX.class, 0));
+    }
+
+}
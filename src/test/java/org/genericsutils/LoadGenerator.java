@@ -0,0 +1,193 @@
+package org.genericsutils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * LoadGenerator drives {@link GenericsUtils} over a {@link SyntheticHierarchy} and measures what it costs: the time to
+ * resolve every leaf class once from an empty cache, the heap the cache then holds, and the throughput of cached
+ * lookups from 1 up to a given number of threads, on platform threads and, on runtimes that have them, virtual
+ * threads. Each lookup is checked against the answer the hierarchy expects.
+ */
+final class LoadGenerator {
+
+    private final SyntheticHierarchy hierarchy;
+
+    private final long measureMillis;
+
+    LoadGenerator(SyntheticHierarchy hierarchy, long measureMillis) {
+        this.hierarchy = hierarchy;
+        this.measureMillis = measureMillis;
+    }
+
+    Report run(int maxThreads) throws Exception {
+        Report report = new Report(hierarchy);
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        GenericsCache.clear();
+        long start = System.nanoTime();
+        runLookups(0, 1, null);
+        report.coldResolutionNanos = System.nanoTime() - start;
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ExecutorService platformThreads = Executors.newFixedThreadPool(threads);
+            try {
+                report.platformOpsPerSecond.add(measure(platformThreads, threads));
+            } finally {
+                platformThreads.shutdownNow();
+            }
+            ExecutorService virtualThreads = newVirtualThreadExecutor();
+            if (virtualThreads != null) {
+                try {
+                    report.virtualOpsPerSecond.add(measure(virtualThreads, threads));
+                } finally {
+                    virtualThreads.shutdownNow();
+                }
+            }
+            report.threadCounts.add(threads);
+        }
+
+        // What the cache holds is the difference between the heap with the cache filled and the heap after clearing it
+        System.gc();
+        long filledHeap = memory.getHeapMemoryUsage().getUsed();
+        GenericsCache.clear();
+        System.gc();
+        report.retainedBytes = Math.max(0, filledHeap - memory.getHeapMemoryUsage().getUsed());
+        return report;
+    }
+
+    /**
+     * Warm up for measureMillis, then count the lookups threads workers complete in the next measureMillis.
+     */
+    private double measure(ExecutorService executor, int threads) throws Exception {
+        measureRound(executor, threads);
+        return measureRound(executor, threads);
+    }
+
+    private double measureRound(ExecutorService executor, int threads) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<Long>> workers = new ArrayList<>(threads);
+        for (int i = 0; i <= threads - 1; i++) {
+            int worker = i;
+            workers.add(executor.submit(() -> runLookups(worker, threads, running)));
+        }
+        long start = System.nanoTime();
+        Thread.sleep(measureMillis);
+        running.set(false);
+        long lookups = 0;
+        for (Future<Long> worker : workers) {
+            lookups += worker.get(1, TimeUnit.MINUTES);
+        }
+        return lookups * 1e9 / (System.nanoTime() - start);
+    }
+
+    /**
+     * Look up the root interface of every leaf class, starting at an offset per worker so workers do not walk the
+     * classes in step. Without running, stop after one pass.
+     *
+     * @return the number of lookups done
+     */
+    private long runLookups(int worker, int workers, AtomicBoolean running) {
+        List<Class<?>> leafClasses = hierarchy.getLeafClasses();
+        Type expected = hierarchy.getExpectedRootArgument();
+        int offset = leafClasses.size() * worker / workers;
+        long lookups = 0;
+        do {
+            for (int i = 0; i <= leafClasses.size() - 1; i++) {
+                int leafIndex = (offset + i) % leafClasses.size();
+                Type actual = GenericsUtils.getGenericTypeFromClass(leafClasses.get(leafIndex), hierarchy.getRootInterface(leafIndex), 0);
+                if (!expected.equals(actual)) {
+                    throw new RuntimeException("Expected " + expected.getTypeName() + " from " + leafClasses.get(leafIndex).getName() + " but found " + actual);
+                }
+            }
+            lookups += leafClasses.size();
+        } while (running != null && running.get());
+        return lookups;
+    }
+
+    /**
+     * @return an executor starting a virtual thread per task, or null on runtimes without virtual threads
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    static final class Report {
+
+        private final SyntheticHierarchy hierarchy;
+
+        private final List<Integer> threadCounts = new ArrayList<>();
+
+        private final List<Double> platformOpsPerSecond = new ArrayList<>();
+
+        private final List<Double> virtualOpsPerSecond = new ArrayList<>();
+
+        private long coldResolutionNanos;
+
+        private long retainedBytes;
+
+        private Report(SyntheticHierarchy hierarchy) {
+            this.hierarchy = hierarchy;
+        }
+
+        /**
+         * @return the leaf classes resolved per second from an empty cache
+         */
+        double getColdClassesPerSecond() {
+            return hierarchy.getLeafCount() * 1e9 / coldResolutionNanos;
+        }
+
+        long getRetainedBytes() {
+            return retainedBytes;
+        }
+
+        List<Integer> getThreadCounts() {
+            return threadCounts;
+        }
+
+        /**
+         * @param threadIndex index into {@link #getThreadCounts()}
+         * @return
+         */
+        double getOpsPerSecond(int threadIndex) {
+            return platformOpsPerSecond.get(threadIndex);
+        }
+
+        /**
+         * @param threadIndex index into {@link #getThreadCounts()}
+         * @return the throughput with threadCounts.get(threadIndex) threads relative to a single thread
+         */
+        double getScaling(int threadIndex) {
+            return platformOpsPerSecond.get(threadIndex) / platformOpsPerSecond.get(0);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder();
+            report.append("Synthetic hierarchy: ").append(hierarchy).append('\n');
+            report.append(String.format(Locale.ROOT, "Cold resolution: %.0f classes/s, %d KB retained%n", getColdClassesPerSecond(), retainedBytes / 1024));
+            report.append(String.format(Locale.ROOT, "%8s %16s %8s %16s%n", "threads", "ops/s", "scaling", "virtual ops/s"));
+            for (int i = 0; i <= threadCounts.size() - 1; i++) {
+                String virtual = i <= virtualOpsPerSecond.size() - 1 ? String.format(Locale.ROOT, "%.0f", virtualOpsPerSecond.get(i)) : "-";
+                report.append(String.format(Locale.ROOT, "%8d %16.0f %8.2f %16s%n", threadCounts.get(i), platformOpsPerSecond.get(i), getScaling(i), virtual));
+            }
+            return report.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,74 @@
+package org.genericsutils;
+
+import org.genericsutils.GenericsUtilsTest.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentGenericsIndexTest {
+
+    @TempDir
+    Path indexDirectory;
+
+    @Test
+    void writeAndLoad() {
+        Path indexFile = indexDirectory.resolve("generics.index");
+        List<Class<?>> classes = Arrays.asList(ClassH.class, ClassSTU.class, ExtenededClass2StringExtendedAgainWithInteger.class, IClassSTU.class, ClassNode.class);
+        assertEquals(classes.size(), PersistentGenericsIndex.write(indexFile, classes));
+
+        PersistentGenericsIndex index = PersistentGenericsIndex.load(indexFile);
+        for (Class<?> clazz : classes) {
+            ResolvedSuperTypes indexed = index.getResolvedSuperTypes(clazz);
+            assertNotNull(indexed);
+            assertEquals(GenericsUtils.resolveSuperTypes(clazz).getSuperTypesByRawClass(), indexed.getSuperTypesByRawClass());
+        }
+        assertNull(index.getResolvedSuperTypes(ClassG.class));
+    }
+
+    @Test
+    void changedClassFileInvalidatesEntry() throws Exception {
+        Path indexFile = indexDirectory.resolve("generics.index");
+        PersistentGenericsIndex.write(indexFile, Arrays.asList(ClassG.class, Class2String.class));
+
+        byte[] hash = ByteBuffer.allocate(Long.BYTES).putLong(PersistentGenericsIndex.computeClassFileHash(IClassG.class)).array();
+        byte[] indexBytes = Files.readAllBytes(indexFile);
+        int hashPosition = indexOf(indexBytes, hash);
+        assertTrue(hashPosition > 0);
+        indexBytes[hashPosition + Long.BYTES - 1] ^= 1;
+        Files.write(indexFile, indexBytes);
+
+        PersistentGenericsIndex index = PersistentGenericsIndex.load(indexFile);
+        assertNull(index.getResolvedSuperTypes(ClassG.class));
+        assertNotNull(index.getResolvedSuperTypes(Class2String.class));
+    }
+
+    @Test
+    void typeSignatures() throws Exception {
+        for (Class<?> clazz : Arrays.asList(ClassH.class, IClassSTU.class, ClassNode.class)) {
+            for (java.lang.reflect.Type superType : GenericsUtils.resolveSuperTypes(clazz).getSuperTypesByRawClass().values()) {
+                String signature = TypeSignatures.toSignature(superType);
+                assertEquals(superType, TypeSignatures.fromSignature(signature, getClass().getClassLoader()), signature);
+            }
+        }
+        assertEquals(int[][].class, TypeSignatures.fromSignature(TypeSignatures.toSignature(int[][].class), null));
+        assertEquals(String[].class, TypeSignatures.fromSignature(TypeSignatures.toSignature(String[].class), null));
+        assertNull(TypeSignatures.toSignature(java.util.Collections.class.getMethod("emptyList").getGenericReturnType()));
+    }
+
+    private static int indexOf(byte[] bytes, byte[] sequence) {
+        for (int i = 0; i <= bytes.length - sequence.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + sequence.length), sequence)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
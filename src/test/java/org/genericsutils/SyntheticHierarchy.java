@@ -0,0 +1,186 @@
+package org.genericsutils;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SyntheticHierarchy generates, compiles and loads a hierarchy of the shape given by its settings, for load tests that
+ * need far more classes than can be written by hand. Every level holds fanOut generic interfaces Level{d}_{f}<A, B>,
+ * each extending the interface of the same index one level up with its two type arguments swapped, and with diamonds
+ * also the next interface of that level. The leaf classes implement the bottom level with String nested in nesting
+ * Lists and Integer, so the root interface they reach resolves to one of those two after depth swaps.
+ */
+final class SyntheticHierarchy {
+
+    static final String PACKAGE_NAME = "synthetic";
+
+    private final int depth;
+
+    private final int fanOut;
+
+    private final boolean diamonds;
+
+    private final int nesting;
+
+    private final int leafCount;
+
+    private final ClassLoader classLoader;
+
+    private final List<Class<?>> leafClasses;
+
+    private final List<Class<?>> rootInterfaces;
+
+    private SyntheticHierarchy(int depth, int fanOut, boolean diamonds, int nesting, int leafCount, ClassLoader classLoader) throws ClassNotFoundException {
+        this.depth = depth;
+        this.fanOut = fanOut;
+        this.diamonds = diamonds;
+        this.nesting = nesting;
+        this.leafCount = leafCount;
+        this.classLoader = classLoader;
+        List<Class<?>> leafClasses = new ArrayList<>(leafCount);
+        for (int i = 0; i <= leafCount - 1; i++) {
+            leafClasses.add(Class.forName(PACKAGE_NAME + ".Leaf" + i, false, classLoader));
+        }
+        this.leafClasses = Collections.unmodifiableList(leafClasses);
+        List<Class<?>> rootInterfaces = new ArrayList<>(fanOut);
+        for (int f = 0; f <= fanOut - 1; f++) {
+            rootInterfaces.add(Class.forName(PACKAGE_NAME + "." + interfaceName(0, f), false, classLoader));
+        }
+        this.rootInterfaces = Collections.unmodifiableList(rootInterfaces);
+    }
+
+    /**
+     * Generate and compile the hierarchy into outputDirectory and load it with a class loader of its own.
+     *
+     * @param depth     the number of levels of interfaces above the leaf classes, at least 1
+     * @param fanOut    the number of interfaces on each level
+     * @param diamonds  whether each interface also extends a second interface one level up
+     * @param nesting   how many Lists the String type argument of the leaf classes is nested in
+     * @param leafCount
+     * @param outputDirectory
+     * @return
+     */
+    static SyntheticHierarchy generate(int depth, int fanOut, boolean diamonds, int nesting, int leafCount, Path outputDirectory) throws IOException, ClassNotFoundException {
+        if (depth < 1 || fanOut < 1 || nesting < 0 || leafCount < 1) {
+            throw new RuntimeException("Invalid synthetic hierarchy: depth " + depth + ", fanOut " + fanOut + ", nesting " + nesting + ", leafCount " + leafCount);
+        }
+        StringBuilder source = new StringBuilder("package " + PACKAGE_NAME + ";\n\n");
+        for (int f = 0; f <= fanOut - 1; f++) {
+            source.append("interface ").append(interfaceName(0, f)).append("<A, B> {}\n");
+        }
+        for (int d = 1; d <= depth - 1; d++) {
+            for (int f = 0; f <= fanOut - 1; f++) {
+                source.append("interface ").append(interfaceName(d, f)).append("<A, B> extends ")
+                        .append(interfaceName(d - 1, f)).append("<B, A>");
+                if (diamonds && fanOut > 1) {
+                    source.append(", ").append(interfaceName(d - 1, (f + 1) % fanOut)).append("<B, A>");
+                }
+                source.append(" {}\n");
+            }
+        }
+        String nestedString = "String";
+        for (int n = 0; n <= nesting - 1; n++) {
+            nestedString = "java.util.List<" + nestedString + ">";
+        }
+        for (int i = 0; i <= leafCount - 1; i++) {
+            source.append("class Leaf").append(i).append(" implements ")
+                    .append(interfaceName(depth - 1, i % fanOut)).append("<").append(nestedString).append(", Integer> {}\n");
+        }
+        compile(source.toString(), outputDirectory);
+        ClassLoader classLoader = new URLClassLoader(new URL[]{outputDirectory.toUri().toURL()}, SyntheticHierarchy.class.getClassLoader());
+        return new SyntheticHierarchy(depth, fanOut, diamonds, nesting, leafCount, classLoader);
+    }
+
+    private static String interfaceName(int level, int index) {
+        return "Level" + level + "_" + index;
+    }
+
+    private static void compile(String source, Path outputDirectory) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new RuntimeException("SyntheticHierarchy needs a JDK with a system Java compiler");
+        }
+        Files.createDirectories(outputDirectory);
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        URI uri = URI.create("string:///" + PACKAGE_NAME + "/Hierarchy" + JavaFileObject.Kind.SOURCE.extension);
+        JavaFileObject sourceFile = new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        List<String> options = new ArrayList<>();
+        options.add("-d");
+        options.add(outputDirectory.toString());
+        options.add("-proc:none");
+        if (!compiler.getTask(null, null, diagnostics, options, null, Collections.singletonList(sourceFile)).call()) {
+            throw new RuntimeException("Unable to compile synthetic hierarchy: " + diagnostics.getDiagnostics());
+        }
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    int getFanOut() {
+        return fanOut;
+    }
+
+    boolean hasDiamonds() {
+        return diamonds;
+    }
+
+    int getNesting() {
+        return nesting;
+    }
+
+    int getLeafCount() {
+        return leafCount;
+    }
+
+    ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    List<Class<?>> getLeafClasses() {
+        return leafClasses;
+    }
+
+    /**
+     * @param leafIndex
+     * @return the root interface on the straight path up from the leaf class, which every leaf class reaches
+     */
+    Class<?> getRootInterface(int leafIndex) {
+        return rootInterfaces.get(leafIndex % fanOut);
+    }
+
+    /**
+     * @return the type the first type argument of each root interface resolves to from a leaf class. Type arguments are
+     * swapped once per level, and diamonds always join two paths of the same length.
+     */
+    Type getExpectedRootArgument() {
+        if (depth % 2 == 0) {
+            return Integer.class;
+        }
+        Type nestedString = String.class;
+        for (int n = 0; n <= nesting - 1; n++) {
+            nestedString = ResolvedParameterizedType.make(List.class, new Type[]{nestedString}, null);
+        }
+        return nestedString;
+    }
+
+    @Override
+    public String toString() {
+        return "depth " + depth + ", fanOut " + fanOut + (diamonds ? ", diamonds" : "") + ", nesting " + nesting + ", " + leafCount + " leaf classes";
+    }
+
+}
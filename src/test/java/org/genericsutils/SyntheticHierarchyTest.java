@@ -0,0 +1,57 @@
+package org.genericsutils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticHierarchyTest {
+
+    @TempDir
+    Path classesDirectory;
+
+    @AfterEach
+    void tearDown() {
+        GenericsCache.setEnabled(true);
+    }
+
+    @Test
+    void generatedHierarchyResolves() throws Exception {
+        SyntheticHierarchy hierarchy = SyntheticHierarchy.generate(5, 3, true, 2, 12, classesDirectory);
+        Type expected = hierarchy.getExpectedRootArgument();
+        assertEquals("java.util.List<java.util.List<java.lang.String>>", expected.getTypeName());
+        List<Class<?>> leafClasses = hierarchy.getLeafClasses();
+        assertEquals(12, leafClasses.size());
+        assertEquals(hierarchy.getClassLoader(), leafClasses.get(0).getClassLoader());
+        for (int i = 0; i <= leafClasses.size() - 1; i++) {
+            assertEquals(expected, GenericsUtils.getGenericTypeFromClass(leafClasses.get(i), hierarchy.getRootInterface(i), 0));
+            assertEquals(Integer.class, GenericsUtils.getGenericClassFromClass(leafClasses.get(i), hierarchy.getRootInterface(i), 1));
+        }
+        // With diamonds every leaf class also reaches the next root interface, after the same number of swaps
+        assertEquals(expected, GenericsUtils.getGenericTypeFromClass(leafClasses.get(0), hierarchy.getRootInterface(1), 0));
+
+        GenericsCache.setEnabled(false);
+        ParameterizedType rootType = (ParameterizedType) GenericsUtils.resolveSuperTypes(leafClasses.get(2)).getSuperType(hierarchy.getRootInterface(2));
+        assertEquals(expected, rootType.getActualTypeArguments()[0]);
+    }
+
+    @Test
+    void loadGeneratorReports() throws Exception {
+        SyntheticHierarchy hierarchy = SyntheticHierarchy.generate(2, 2, false, 0, 8, classesDirectory);
+        assertEquals(Integer.class, hierarchy.getExpectedRootArgument());
+        LoadGenerator.Report report = new LoadGenerator(hierarchy, 20).run(2);
+        assertEquals(2, report.getThreadCounts().size());
+        assertTrue(report.getColdClassesPerSecond() > 0);
+        assertTrue(report.getOpsPerSecond(0) > 0);
+        assertTrue(report.getOpsPerSecond(1) > 0);
+        assertEquals(1.0, report.getScaling(0));
+        assertTrue(report.toString().contains("depth 2, fanOut 2, nesting 0, 8 leaf classes"));
+    }
+
+}
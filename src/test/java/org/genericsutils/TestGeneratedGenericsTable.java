@@ -0,0 +1,17 @@
+package org.genericsutils;
+
+/**
+ * Stands in for a table generated by genericsutils-processor, written the way the processor writes them.
+ */
+public final class TestGeneratedGenericsTable implements GeneratedGenericsTable {
+
+    @Override
+    public void registerGenericClasses(Registrar registrar) {
+        registrar.register(GenericsUtilsTest.ClassABStringInteger.class, GenericsUtilsTest.IClassAB.class, new Class<?>[]{String.class, Integer.class});
+        registrar.register(GenericsUtilsTest.ClassABStringInteger.class, GenericsUtilsTest.IClassA.class, new Class<?>[]{String.class});
+        registrar.register(GenericsUtilsTest.ClassABStringInteger.class, GenericsUtilsTest.IClassB.class, new Class<?>[]{Integer.class});
+        registrar.register(GenericsUtilsTest.ClassNode.class, GenericsUtilsTest.INode.class, new Class<?>[]{GenericsUtilsTest.ClassNode.class});
+        registrar.register(GenericsUtilsTest.ClassNode.class, Comparable.class, new Class<?>[]{null});
+    }
+
+}
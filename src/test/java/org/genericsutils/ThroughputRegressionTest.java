@@ -0,0 +1,67 @@
+package org.genericsutils;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fails when resolving a large synthetic hierarchy gets slower than the baseline in throughput-baseline.properties by
+ * more than the tolerance. Only runs with the performance profile: mvn test -Pperformance
+ * Record a new baseline on the build machine with -Dgenericsutils.performance.recordBaseline=path/to/file and commit it
+ * over the one in src/test/resources.
+ */
+@Tag("performance")
+class ThroughputRegressionTest {
+
+    private static final String BASELINE = "throughput-baseline.properties";
+
+    private static final String COLD_CLASSES_PER_SECOND = "cold.classesPerSecond";
+
+    private static final String CACHED_OPS_PER_SECOND = "cached.opsPerSecond";
+
+    @TempDir
+    Path classesDirectory;
+
+    @Test
+    void throughputDoesNotRegress() throws Exception {
+        int maxThreads = Integer.getInteger("genericsutils.performance.threads", Runtime.getRuntime().availableProcessors());
+        double tolerance = Double.parseDouble(System.getProperty("genericsutils.performance.tolerance", "0.5"));
+        SyntheticHierarchy hierarchy = SyntheticHierarchy.generate(8, 8, true, 3, 2000, classesDirectory);
+        LoadGenerator.Report report = new LoadGenerator(hierarchy, 1000).run(maxThreads);
+        System.out.println(report);
+
+        Properties measured = new Properties();
+        measured.setProperty(COLD_CLASSES_PER_SECOND, String.format(Locale.ROOT, "%.0f", report.getColdClassesPerSecond()));
+        measured.setProperty(CACHED_OPS_PER_SECOND, String.format(Locale.ROOT, "%.0f", report.getOpsPerSecond(0)));
+        String recordBaseline = System.getProperty("genericsutils.performance.recordBaseline");
+        if (recordBaseline != null) {
+            try (OutputStream out = Files.newOutputStream(Paths.get(recordBaseline))) {
+                measured.store(out, "Throughput baseline of " + hierarchy);
+            }
+            return;
+        }
+
+        Properties baseline = new Properties();
+        try (InputStream in = getClass().getResourceAsStream(BASELINE)) {
+            assertNotNull(in, "Missing " + BASELINE);
+            baseline.load(in);
+        }
+        for (String key : new String[]{COLD_CLASSES_PER_SECOND, CACHED_OPS_PER_SECOND}) {
+            double expected = Double.parseDouble(baseline.getProperty(key));
+            double actual = Double.parseDouble(measured.getProperty(key));
+            assertTrue(actual >= expected * (1 - tolerance),
+                    String.format(Locale.ROOT, "%s regressed to %.0f, baseline %.0f with tolerance %.0f%%", key, actual, expected, tolerance * 100));
+        }
+    }
+
+}